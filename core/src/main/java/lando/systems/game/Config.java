@@ -13,6 +13,11 @@ public class Config {
 
     public static boolean stepped_frame = false;
 
+    /**
+     * Run scene updates on a separate thread from rendering, see {@link lando.systems.game.scene.framework.Simulation}
+     */
+    public static boolean simulation_thread = false;
+
     /**
      * Flags for enabling/disabling certain features, mostly used for debugging.
      * {@link Flag#GLOBAL} can be disabled to globally ignore any debug flag,
@@ -26,6 +31,7 @@ public class Config {
         , LOG(true)
         , FRAME_STEP(false)
         , START_ON_GAMESCREEN(true)
+        , STATS(false)
         ;
         //@formatter:on
 
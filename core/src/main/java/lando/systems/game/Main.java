@@ -4,8 +4,6 @@ import aurelienribon.tweenengine.Tween;
 import aurelienribon.tweenengine.TweenManager;
 import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.graphics.*;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.graphics.glutils.FrameBuffer;
 import com.badlogic.gdx.math.Circle;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
@@ -26,8 +24,6 @@ public class Main extends ApplicationAdapter {
 
     public Assets assets;
     public TweenManager tween;
-    public FrameBuffer frameBuffer;
-    public TextureRegion frameBufferRegion;
     public OrthographicCamera windowCamera;
 
     public BaseScreen currentScreen;
@@ -54,17 +50,6 @@ public class Main extends ApplicationAdapter {
         Tween.registerAccessor(Vector2.class, new Vector2Accessor());
         Tween.registerAccessor(Vector3.class, new Vector3Accessor());
 
-        var format = Pixmap.Format.RGBA8888;
-        int width = Config.framebuffer_width;
-        int height = Config.framebuffer_height;
-        var hasDepth = true;
-
-        frameBuffer = new FrameBuffer(format, width, height, hasDepth);
-        var frameBufferTexture = frameBuffer.getColorBufferTexture();
-        frameBufferTexture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        frameBufferRegion = new TextureRegion(frameBufferTexture);
-        frameBufferRegion.flip(false, true);
-
         windowCamera = new OrthographicCamera();
         windowCamera.setToOrtho(false, Config.window_width, Config.window_height);
         windowCamera.update();
@@ -93,11 +78,16 @@ public class Main extends ApplicationAdapter {
         Time.millis += Time.delta;
         Time.previous_elapsed = Time.elapsed_millis();
 
+        // the outgoing screen is frozen on its captured frame unless the transition is live
+        if (Transition.outgoingCaptured()) {
+            return;
+        }
         currentScreen.update(delta);
     }
 
     @Override
     public void render() {
+        assets.stats.beginFrame();
         update(Time.delta);
 
         ScreenUtils.clear(Color.DARK_GRAY);
@@ -107,6 +97,8 @@ public class Main extends ApplicationAdapter {
             currentScreen.renderOffscreenBuffers(assets.batch);
             currentScreen.render(assets.batch);
         }
+        assets.frameBuffers.evictIdle();
+        assets.stats.endFrame();
     }
 
     public void setScreen(BaseScreen newScreen) {
@@ -0,0 +1,56 @@
+package lando.systems.game.assets;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Animation time shared by any number of {@link lando.systems.game.scene.components.Animator} components,
+ * for things that animate in lockstep (eg. crowds, animated tiles, pickups).
+ * <p>
+ * The clock only advances once per world tick no matter how many animators update it,
+ * and remembers the most recently looked up keyframe for the tick, so animators sharing
+ * both a clock and an {@link AnimTable} after the first one get their keyframe with no math at all.
+ */
+public class AnimClock {
+
+    private float time;
+    private long tick = -1;
+    private int step;
+
+    private AnimTable lastTable;
+    private TextureRegion lastKeyframe;
+
+    public float time() {
+        return time;
+    }
+
+    /**
+     * Advance the clock, if it hasn't already been advanced for the specified tick
+     *
+     * @return the clock time after advancing
+     */
+    public float advance(float dt, long tick) {
+        if (this.tick != tick) {
+            this.tick = tick;
+            time += dt;
+            lastTable = null;
+        }
+        return time;
+    }
+
+    public void reset() {
+        time = 0;
+        lastTable = null;
+    }
+
+    /**
+     * @return the keyframe of the specified table at the current clock time
+     */
+    public TextureRegion keyframe(AnimTable table) {
+        if (table != lastTable) {
+            lastTable = table;
+            step = table.step(time);
+            lastKeyframe = table.keyframeAtStep(step);
+        }
+        return lastKeyframe;
+    }
+}
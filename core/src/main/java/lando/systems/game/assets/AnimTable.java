@@ -0,0 +1,103 @@
+package lando.systems.game.assets;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Precomputed keyframe lookup for an {@link Animation} with a fixed frame duration.
+ * <p>
+ * {@link Animation#getKeyFrame(float)} works out the frame index from scratch on every call,
+ * branching on play mode each time. This resolves the play mode once, up front, into a table
+ * of keyframe indices covering one full cycle (eg. forward then back for ping-pong),
+ * so a lookup is one multiply and an array read.
+ * <p>
+ * {@link Animation.PlayMode#LOOP_RANDOM} can't be tabulated, lookups for it fall back to the animation itself.
+ */
+public class AnimTable {
+
+    public final Animation<TextureRegion> animation;
+    public final TextureRegion[] frames;
+
+    /**
+     * Keyframe index for each frame step in one cycle
+     */
+    private final int[] indices;
+    private final float invFrameDuration;
+    private final boolean looping;
+    private final boolean tabulated;
+
+    public AnimTable(Animation<TextureRegion> animation) {
+        this.animation = animation;
+        this.frames = animation.getKeyFrames();
+        this.invFrameDuration = 1f / animation.getFrameDuration();
+
+        var mode = animation.getPlayMode();
+        this.looping = (mode != Animation.PlayMode.NORMAL && mode != Animation.PlayMode.REVERSED);
+        this.tabulated = (mode != Animation.PlayMode.LOOP_RANDOM && frames.length > 0);
+
+        int n = frames.length;
+        this.indices = (!tabulated) ? new int[0] : switch (mode) {
+            case NORMAL, LOOP -> range(n, false);
+            case REVERSED, LOOP_REVERSED -> range(n, true);
+            case LOOP_PINGPONG -> pingPong(n);
+            case LOOP_RANDOM -> new int[0];
+        };
+    }
+
+    /**
+     * @return the number of whole frame steps elapsed at the specified time
+     */
+    public int step(float stateTime) {
+        return (int) (stateTime * invFrameDuration);
+    }
+
+    /**
+     * @return the keyframe index for the specified number of elapsed frame steps, see {@link #step}
+     */
+    public int index(int step) {
+        int size = indices.length;
+        if (looping) {
+            return indices[step % size];
+        }
+        return indices[Math.min(step, size - 1)];
+    }
+
+    public TextureRegion keyframe(float stateTime) {
+        if (!tabulated) {
+            return animation.getKeyFrame(stateTime);
+        }
+        return frames[index(step(stateTime))];
+    }
+
+    public TextureRegion keyframeAtStep(int step) {
+        if (!tabulated) {
+            return animation.getKeyFrame(step / invFrameDuration);
+        }
+        return frames[index(step)];
+    }
+
+    private static int[] range(int n, boolean reversed) {
+        var table = new int[n];
+        for (int i = 0; i < n; i++) {
+            table[i] = reversed ? (n - 1 - i) : i;
+        }
+        return table;
+    }
+
+    /**
+     * Forward through every frame, then back without repeating either end, same as {@link Animation.PlayMode#LOOP_PINGPONG}
+     */
+    private static int[] pingPong(int n) {
+        if (n <= 2) {
+            return range(n, false);
+        }
+        var table = new int[2 * n - 2];
+        for (int i = 0; i < n; i++) {
+            table[i] = i;
+        }
+        for (int i = n; i < table.length; i++) {
+            table[i] = n - 2 - (i - n);
+        }
+        return table;
+    }
+}
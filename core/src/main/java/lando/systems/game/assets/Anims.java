@@ -16,6 +16,11 @@ public class Anims extends AssetContainer<Anims.Type, Animation> {
 
     public static AssetContainer<Anims.Type, Animation> container;
 
+    /**
+     * Keyframe lookup tables built alongside each animation, indexed by {@link Type#ordinal()}
+     */
+    private static final AnimTable[] tables = new AnimTable[Type.values().length];
+
     private static class Path {
         private static final String HERO = "character/hero/";
     }
@@ -88,6 +93,13 @@ public class Anims extends AssetContainer<Anims.Type, Animation> {
         Anims.container = this;
     }
 
+    /**
+     * @return the precomputed keyframe table for the specified animation type, null until assets are loaded
+     */
+    public static AnimTable table(Type type) {
+        return tables[type.ordinal()];
+    }
+
     @Override
     public void init(Assets assets) {
         // TODO(brian): does AssetContainer.initInternal get called without an explicit super.initInternal call?
@@ -97,6 +109,7 @@ public class Anims extends AssetContainer<Anims.Type, Animation> {
             var regions = atlas.findRegions(type.path + type.name);
             var anim = new Animation<TextureRegion>(data.frameDuration, regions, data.playMode);
             resources.put(type, anim);
+            tables[type.ordinal()] = new AnimTable(anim);
         }
     }
 }
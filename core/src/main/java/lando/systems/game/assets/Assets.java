@@ -18,9 +18,14 @@ import com.badlogic.gdx.utils.ObjectMap;
 import lando.systems.game.Config;
 import lando.systems.game.assets.framework.AssetContainer;
 import lando.systems.game.assets.framework.AssetEnum;
+import lando.systems.game.utils.FrameBufferPool;
+import lando.systems.game.utils.RenderStats;
+import lando.systems.game.utils.StatsSpriteBatch;
 import lando.systems.game.utils.Util;
 import space.earlygrey.shapedrawer.ShapeDrawer;
 
+import java.util.function.Function;
+
 public class Assets implements Disposable {
 
     public enum Load {SYNC, ASYNC}
@@ -33,6 +38,9 @@ public class Assets implements Disposable {
     public final SpriteBatch batch;
     public final ShapeDrawer shapes;
     public final GlyphLayout layout;
+    public final TextLayouts layouts;
+    public final RenderStats stats;
+    public final FrameBufferPool frameBuffers;
     public final Array<Disposable> disposables;
 
     public TextureAtlas atlas;
@@ -47,6 +55,13 @@ public class Assets implements Disposable {
     }
 
     public Assets(Load load) {
+        this(load, StatsSpriteBatch::new);
+    }
+
+    /**
+     * @param batchFactory creates the shared batch, reporting to the specified stats (eg. to record draws headless)
+     */
+    public Assets(Load load, Function<RenderStats, SpriteBatch> batchFactory) {
         prefs = Gdx.app.getPreferences(Config.preferences_name);
 
         disposables = new Array<>();
@@ -73,11 +88,15 @@ public class Assets implements Disposable {
         disposables.add(pixel);
 
         mgr = new AssetManager();
-        batch = new SpriteBatch();
+        stats = new RenderStats();
+        batch = batchFactory.apply(stats);
         shapes = new ShapeDrawer(batch, pixelRegion);
         layout = new GlyphLayout();
+        layouts = new TextLayouts();
+        frameBuffers = new FrameBufferPool();
         disposables.add(mgr);
         disposables.add(batch);
+        disposables.add(frameBuffers);
 
         // setup asset manager to support ttf/otf fonts
         var internalFileResolver = new InternalFileHandleResolver();
@@ -0,0 +1,128 @@
+package lando.systems.game.assets;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.NinePatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Texture coordinates for the nine slices of a {@link NinePatch}, built from the same region and split sizes.
+ * <p>
+ * {@link NinePatch} keeps its slices private and rebuilds all of its vertices on every draw,
+ * this exposes the same geometry through {@link #vertices} so callers can build them once and keep them.
+ * Slices are laid out and tinted the same way {@link NinePatch#draw} does, including the half texel inset
+ * on the stretched slices of linear filtered textures.
+ */
+public class PatchSlices {
+
+    public static final int VERTEX_SIZE = 5;
+    public static final int QUAD_SIZE = 4 * VERTEX_SIZE;
+
+    /**
+     * Enough room for the vertices of all nine slices
+     */
+    public static final int MAX_VERTICES = 9 * QUAD_SIZE;
+
+    public final Texture texture;
+    public final float left;
+    public final float right;
+    public final float top;
+    public final float bottom;
+
+    // per slice: column and row from bottom left, then u, v, u2, v2
+    private final int[] cells;
+    private final float[] uvs;
+    private final int count;
+
+    public PatchSlices(TextureRegion region, int left, int right, int top, int bottom) {
+        this.texture = region.getTexture();
+        this.left = left;
+        this.right = right;
+        this.top = top;
+        this.bottom = bottom;
+
+        int middleWidth = region.getRegionWidth() - left - right;
+        int middleHeight = region.getRegionHeight() - top - bottom;
+        int[] srcX = { 0, left, left + middleWidth };
+        int[] srcW = { left, middleWidth, right };
+        // region rows run top down, slice rows run bottom up
+        int[] srcY = { top + middleHeight, top, 0 };
+        int[] srcH = { bottom, middleHeight, top };
+
+        var linear = texture.getMagFilter() == Texture.TextureFilter.Linear
+                  || texture.getMinFilter() == Texture.TextureFilter.Linear;
+        var halfTexelWidth = 0.5f / texture.getWidth();
+        var halfTexelHeight = 0.5f / texture.getHeight();
+        // the middle column and row only stretch if there are slices on either side of them
+        var stretchW = (left > 0 || right > 0);
+        var stretchH = (top > 0 || bottom > 0);
+
+        var cells = new int[9 * 2];
+        var uvs = new float[9 * 4];
+        int n = 0;
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                if (srcW[col] <= 0 || srcH[row] <= 0) continue;
+
+                var slice = new TextureRegion(region, srcX[col], srcY[row], srcW[col], srcH[row]);
+                var u = slice.getU();
+                var v = slice.getV2();
+                var u2 = slice.getU2();
+                var v2 = slice.getV();
+                if (linear && stretchW && col == 1) {
+                    u += halfTexelWidth;
+                    u2 -= halfTexelWidth;
+                }
+                if (linear && stretchH && row == 1) {
+                    v -= halfTexelHeight;
+                    v2 += halfTexelHeight;
+                }
+
+                cells[n * 2]     = col;
+                cells[n * 2 + 1] = row;
+                uvs[n * 4]     = u;
+                uvs[n * 4 + 1] = v;
+                uvs[n * 4 + 2] = u2;
+                uvs[n * 4 + 3] = v2;
+                n++;
+            }
+        }
+        this.cells = cells;
+        this.uvs = uvs;
+        this.count = n;
+    }
+
+    /**
+     * Write the vertices for the patch stretched over the specified rectangle,
+     * same as {@link NinePatch#draw(com.badlogic.gdx.graphics.g2d.Batch, float, float, float, float)}
+     *
+     * @param out         destination for the vertices, with room for at least {@link #MAX_VERTICES} floats
+     * @param packedColor tint for every vertex, see {@link com.badlogic.gdx.graphics.Color#toFloatBits()}
+     * @return the number of floats written
+     */
+    public int vertices(float[] out, float x, float y, float width, float height, float packedColor) {
+        var colX1 = x + left;
+        var colX2 = x + width - right;
+        var rowY1 = y + bottom;
+        var rowY2 = y + height - top;
+
+        int idx = 0;
+        for (int i = 0; i < count; i++) {
+            int col = cells[i * 2];
+            int row = cells[i * 2 + 1];
+            var x1 = (col == 0) ? x : (col == 1) ? colX1 : colX2;
+            var x2 = (col == 0) ? colX1 : (col == 1) ? colX2 : x + width;
+            var y1 = (row == 0) ? y : (row == 1) ? rowY1 : rowY2;
+            var y2 = (row == 0) ? rowY1 : (row == 1) ? rowY2 : y + height;
+            var u = uvs[i * 4];
+            var v = uvs[i * 4 + 1];
+            var u2 = uvs[i * 4 + 2];
+            var v2 = uvs[i * 4 + 3];
+
+            out[idx++] = x1; out[idx++] = y1; out[idx++] = packedColor; out[idx++] = u;  out[idx++] = v;
+            out[idx++] = x1; out[idx++] = y2; out[idx++] = packedColor; out[idx++] = u;  out[idx++] = v2;
+            out[idx++] = x2; out[idx++] = y2; out[idx++] = packedColor; out[idx++] = u2; out[idx++] = v2;
+            out[idx++] = x2; out[idx++] = y1; out[idx++] = packedColor; out[idx++] = u2; out[idx++] = v;
+        }
+        return idx;
+    }
+}
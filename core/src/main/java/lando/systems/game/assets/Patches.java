@@ -11,6 +11,11 @@ public class Patches extends AssetContainer<Patches.Type, NinePatch> {
 
     private static final String folder = "patch/";
 
+    /**
+     * Slice geometry built alongside each patch, indexed by {@link Type#ordinal()}
+     */
+    private static final PatchSlices[] slices = new PatchSlices[Type.values().length];
+
     public enum Type implements AssetEnum<NinePatch> {
         PLAIN("plain", 2, 2, 2, 2),
         PLAIN_DIM("plain-dim", 2, 2, 2, 2),
@@ -42,6 +47,13 @@ public class Patches extends AssetContainer<Patches.Type, NinePatch> {
         Patches.container = this;
     }
 
+    /**
+     * @return the slice geometry for the specified patch type, null until assets are loaded
+     */
+    public static PatchSlices slices(Type type) {
+        return slices[type.ordinal()];
+    }
+
     @Override
     public void init(Assets assets) {
         var atlas = assets.atlas;
@@ -53,6 +65,7 @@ public class Patches extends AssetContainer<Patches.Type, NinePatch> {
             }
             var patch = new NinePatch(region, type.left, type.right, type.top, type.bottom);
             resources.put(type, patch);
+            slices[type.ordinal()] = new PatchSlices(region, type.left, type.right, type.top, type.bottom);
         }
     }
 }
@@ -0,0 +1,111 @@
+package lando.systems.game.assets;
+
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import lando.systems.game.utils.LruMap;
+
+/**
+ * Cache of {@link GlyphLayout} instances keyed by font {@link Fonts.Type}, variant name and text,
+ * so labels that draw the same string every frame only lay out their glyphs once.
+ * A layout bakes in the font's color at the time it's made, so that color is part of the key too,
+ * after the font's color changes a label gets a new layout in the new color rather than the stale one.
+ * The least recently used layouts are evicted once the cache is full.
+ * <p>
+ * Cached layouts are shared and must not be modified (eg. by calling {@code setText} on them).
+ * Evicted layouts are dropped rather than reused, so a caller that holds on
+ * to a layout can keep drawing it safely.
+ */
+public class TextLayouts {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final class Key {
+        Fonts.Type type;
+        String variant;
+        String text;
+        int color;
+
+        Key set(Fonts.Type type, String variant, String text, int color) {
+            this.type = type;
+            this.variant = variant;
+            this.text = text;
+            this.color = color;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key
+                && type == key.type
+                && variant.equals(key.variant)
+                && text.equals(key.text)
+                && color == key.color;
+        }
+
+        @Override
+        public int hashCode() {
+            // not Objects.hash, it allocates a varargs array on every lookup
+            int hash = type.hashCode();
+            hash = 31 * hash + variant.hashCode();
+            hash = 31 * hash + text.hashCode();
+            hash = 31 * hash + color;
+            return hash;
+        }
+    }
+
+    private final LruMap<Key, GlyphLayout> layouts;
+
+    /**
+     * Reused for lookups so cache hits don't allocate a key
+     */
+    private final Key lookup = new Key();
+
+    private int hits;
+    private int misses;
+
+    public TextLayouts() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TextLayouts(int capacity) {
+        this.layouts = new LruMap<>(capacity);
+    }
+
+    /**
+     * Get the layout for the specified text in the specified font and its current color, laying it out only if it isn't cached
+     */
+    public GlyphLayout get(Fonts.Type type, String variant, String text) {
+        var font = type.getFont(variant);
+        var color = font.getColor().toIntBits();
+        var layout = layouts.get(lookup.set(type, variant, text, color));
+        if (layout != null) {
+            hits++;
+            return layout;
+        }
+
+        misses++;
+        layout = new GlyphLayout(font, text);
+        layouts.put(new Key().set(type, variant, text, color), layout);
+        return layout;
+    }
+
+    public int hits() {
+        return hits;
+    }
+
+    public int misses() {
+        return misses;
+    }
+
+    public int size() {
+        return layouts.size();
+    }
+
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+    }
+
+    public void clear() {
+        layouts.clear();
+    }
+}
@@ -1,11 +1,19 @@
 package lando.systems.game.scene;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
 import lando.systems.game.Config;
 import lando.systems.game.scene.framework.Entity;
+import lando.systems.game.scene.framework.Simulation;
 import lando.systems.game.scene.framework.World;
 import lando.systems.game.scene.framework.families.RenderableComponent;
+import lando.systems.game.scene.render.RenderQueue;
+import lando.systems.game.scene.spatial.RenderCuller;
 import lando.systems.game.screens.BaseScreen;
+import lando.systems.game.utils.RenderStats;
 import space.earlygrey.shapedrawer.ShapeDrawer;
 
 /**
@@ -13,14 +21,41 @@ import space.earlygrey.shapedrawer.ShapeDrawer;
  * setup for them to be created and interact in a particular way to produce
  * a given gameplay or narrative form.
  */
-public class Scene<ScreenType extends BaseScreen> {
+public class Scene<ScreenType extends BaseScreen> implements Disposable {
 
     public final ScreenType screen;
     public final World<ScreenType> world;
 
+    /**
+     * Skips renderables outside the camera view, see {@link RenderCuller#culledCount()} for per-frame stats
+     */
+    public final RenderCuller culler;
+
+    /**
+     * Draws visible renderables by layer and z-index, then by depth, texture and shader to minimize batch flushes.
+     * Individual layers can be switched off, see {@link RenderQueue#setEnabled}
+     */
+    public final RenderQueue renderQueue;
+
+    /**
+     * Runs world updates on a separate thread when started, see {@link Simulation}
+     */
+    public final Simulation simulation;
+
+    /**
+     * Copy of the world camera from the current snapshot, drawn with while the simulation thread is running
+     */
+    private final OrthographicCamera snapshotCamera = new OrthographicCamera();
+    private final Array<RenderableComponent> removed = new Array<>();
+    private final Array<RenderableComponent> captured = new Array<>();
+    private long preparedFrame = -1;
+
     public Scene(ScreenType screen) {
         this.screen = screen;
         this.world = new World<>(this);
+        this.culler = new RenderCuller();
+        this.renderQueue = new RenderQueue();
+        this.simulation = new Simulation(this);
 
         // reset the screen's world camera to default for each new scene
         var camera = screen.worldCamera;
@@ -32,25 +67,117 @@ public class Scene<ScreenType extends BaseScreen> {
         return world.create(this);
     }
 
+    /**
+     * Update the world, unless the simulation thread is running and already doing that
+     */
     public void update(float dt) {
+        if (simulation.isRunning()) return;
         world.update(dt);
     }
 
+    /**
+     * The camera to draw the world with; the world camera itself, or while the simulation thread is running
+     * a copy of it as of the snapshot being drawn, since the simulation may be moving the original
+     */
+    public OrthographicCamera renderCamera() {
+        if (!simulation.isRunning()) {
+            return screen.worldCamera;
+        }
+        prepareFrame();
+        return snapshotCamera;
+    }
+
     public void render(SpriteBatch batch) {
-        world.getFamily(RenderableComponent.class)
-            .forEach(component -> {
-                if (component.active) {
-                    component.render(batch);
-                }
-            });
+        var renderables = prepareFrame();
+        var visible = culler.cull(renderables, changed(), renderCamera());
+
+        var stats = screen.assets.stats;
+        stats.add(RenderStats.Counter.VISIBLE, visible.visibleCount());
+        stats.add(RenderStats.Counter.CULLED, visible.culledCount());
+
+        renderQueue.render(batch, visible);
+    }
+
+    /**
+     * Called on the GL thread for a renderable that was destroyed while the simulation thread was running,
+     * once it's no longer in the snapshot being drawn, to drop it from the culler and release what it owns
+     */
+    public void release(RenderableComponent renderable) {
+        culler.remove(renderable);
+        if (renderable instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    /**
+     * Stop the simulation thread if it's running and destroy every entity,
+     * which disposes any component that holds resources (eg. {@link lando.systems.game.scene.components.Tilemap})
+     */
+    @Override
+    public void dispose() {
+        simulation.stop();
+        world.clear();
     }
 
     public void render(ShapeDrawer shapes) {
-        world.getFamily(RenderableComponent.class)
-            .forEach(component -> {
-                if (component.active) {
-                    component.render(shapes);
+        var renderables = prepareFrame();
+        var visible = culler.cull(renderables, changed(), renderCamera());
+
+        // shapes go through the same batch, count what they draw separately
+        var stats = screen.assets.stats;
+        stats.countingShapes = true;
+        renderQueue.render(shapes, visible);
+        stats.countingShapes = false;
+    }
+
+    /**
+     * Select the render state each renderable draws from this frame, once per frame:
+     * the newest snapshot if the simulation thread is running, otherwise a fresh capture
+     * of the live values for the renderables marked dirty since the previous frame
+     *
+     * @return the renderables to consider drawing this frame
+     */
+    private Array<RenderableComponent> prepareFrame() {
+        var frame = Gdx.graphics.getFrameId();
+        if (!simulation.isRunning()) {
+            var renderables = world.getFamily(RenderableComponent.class);
+            if (preparedFrame != frame) {
+                preparedFrame = frame;
+                captured.clear();
+                world.drainDirty(captured);
+                for (int i = 0; i < captured.size; i++) {
+                    var renderable = captured.get(i);
+                    renderable.capture(0);
+                    renderable.useState(0);
                 }
-            });
+            }
+            return renderables;
+        }
+
+        if (preparedFrame != frame) {
+            preparedFrame = frame;
+            var snapshot = simulation.acquire();
+            if (snapshot != null) {
+                var renderables = snapshot.renderables;
+                for (int i = 0; i < renderables.size; i++) {
+                    renderables.get(i).useState(snapshot.buffer);
+                }
+                renderQueue.sync(renderables, removed);
+                for (int i = 0; i < removed.size; i++) {
+                    release(removed.get(i));
+                }
+                removed.clear();
+                snapshot.apply(snapshotCamera);
+            }
+        }
+        return simulation.current().renderables;
+    }
+
+    /**
+     * @return the renderables captured this frame, or null while drawing simulation snapshots,
+     * which don't say what changed since the previous one that was drawn
+     */
+    private Array<RenderableComponent> changed() {
+        return simulation.isRunning() ? null : captured;
     }
 }
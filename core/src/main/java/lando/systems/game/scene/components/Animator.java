@@ -1,12 +1,16 @@
 package lando.systems.game.scene.components;
 
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import lando.systems.game.assets.AnimClock;
+import lando.systems.game.assets.AnimTable;
 import lando.systems.game.assets.Anims;
 import lando.systems.game.math.Calc;
 import lando.systems.game.scene.framework.Entity;
 import lando.systems.game.scene.framework.families.RenderableComponent;
+import lando.systems.game.scene.render.RenderState;
 import lando.systems.game.utils.Util;
 
 public class Animator extends RenderableComponent {
@@ -16,9 +20,26 @@ public class Animator extends RenderableComponent {
     public float stateTime;
     public int facing;
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Keyframe lookup for the current animation, see {@link AnimTable}
+     */
+    public AnimTable table;
+
+    /**
+     * Optional time source shared with other animators, when set it replaces {@link #stateTime}
+     * so all animators on the same clock and animation show the same keyframe, see {@link AnimClock}
+     */
+    public AnimClock clock;
+
+    private TextureRegion capturedKeyframe;
+
     public Animator(Entity entity, Anims.Type type) {
-        this(entity, (Animation<TextureRegion>) Anims.container.get(type));
+        this(entity, Anims.table(type));
+    }
+
+    public Animator(Entity entity, AnimTable table) {
+        this(entity, table.animation);
+        this.table = table;
     }
 
     public Animator(Entity entity, Animation<TextureRegion> animation) {
@@ -35,14 +56,26 @@ public class Animator extends RenderableComponent {
         this.facing = 1;
     }
 
-    @SuppressWarnings("unchecked")
     public float play(Anims.Type type) {
-        var anim = (Animation<TextureRegion>) Anims.container.get(type);
-        return play(anim);
+        return play(Anims.table(type));
+    }
+
+    public float play(AnimTable table) {
+        if (table == null) return 0;
+        this.table = table;
+        this.animation = table.animation;
+        return this.animation.getAnimationDuration();
     }
 
+    /**
+     * Play an animation that isn't one of the {@link Anims.Type}s,
+     * its lookup table is built when it changes so prefer {@link #play(AnimTable)} for frequent switches
+     */
     public float play(Animation<TextureRegion> anim) {
         if (anim == null) return 0;
+        if (anim != animation || table == null) {
+            this.table = new AnimTable(anim);
+        }
         this.animation = anim;
         return this.animation.getAnimationDuration();
     }
@@ -51,20 +84,49 @@ public class Animator extends RenderableComponent {
     public void update(float dt) {
         if (animation == null) return;
 
-        stateTime += dt;
-        keyframe = animation.getKeyFrame(stateTime);
+        var previousKeyframe = keyframe;
+        if (clock != null) {
+            stateTime = clock.advance(dt, entity.scene.world.ticks());
+            keyframe = (table != null) ? clock.keyframe(table) : animation.getKeyFrame(stateTime);
+        } else {
+            stateTime += dt;
+            keyframe = (table != null) ? table.keyframe(stateTime) : animation.getKeyFrame(stateTime);
+        }
+        if (keyframe != previousKeyframe) {
+            markDirty();
+        }
+
+        // same early out as the base class, except the default includes facing
+        if (scale.x == facing * defaultScale.x && scale.y == defaultScale.y) return;
 
         float sx = Calc.approach(Calc.abs(scale.x), defaultScale.x, dt * scaleReturnSpeed);
         float sy = Calc.approach(Calc.abs(scale.y), defaultScale.y, dt * scaleReturnSpeed);
         scale.set(facing * sx, sy);
+        markDirty();
+    }
+
+    @Override
+    protected void captureState(RenderState state) {
+        if (keyframe != capturedKeyframe) {
+            capturedKeyframe = keyframe;
+            markChanged();
+        }
+        state.keyframe = keyframe;
+    }
+
+    @Override
+    public Texture texture() {
+        var keyframe = state().keyframe;
+        return (keyframe != null) ? keyframe.getTexture() : null;
     }
 
     @Override
     public void render(SpriteBatch batch) {
-        if (keyframe == null) return;
+        var state = state();
+        if (state.keyframe == null) return;
 
         var rect = obtainPooledRectBounds();
-        Util.draw(batch, keyframe, rect, tint);
+        Util.draw(batch, state.keyframe, rect, state.packedTint);
         Util.free(rect);
     }
 }
@@ -3,11 +3,14 @@ package lando.systems.game.scene.components;
 import com.badlogic.gdx.math.Circle;
 import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.reflect.ClassReflection;
 import lando.systems.game.math.Calc;
 import lando.systems.game.scene.framework.Component;
 import lando.systems.game.scene.framework.Entity;
+import lando.systems.game.scene.spatial.ColliderIndex;
 import lando.systems.game.utils.Util;
 
 import java.util.EnumSet;
@@ -16,14 +19,35 @@ public class Collider extends Component {
 
     private static final String TAG = Collider.class.getSimpleName();
 
+    private static final Array<Collider> scratch = new Array<>();
+    private static final FloatArray distances = new FloatArray();
+
     // ------------------------------------------------------------------------
     // Collider specific types and values
     // ------------------------------------------------------------------------
 
     public enum Mask { solid, npc, player, object, projectile, effect }
 
+    /**
+     * Predicate for narrowing multi-hit query results beyond {@link Mask} checks.
+     * Implementations should be created once and reused (eg. stored in a field,
+     * or a non-capturing lambda) so that queries don't allocate.
+     */
+    @FunctionalInterface
+    public interface Filter {
+        boolean accept(Collider other);
+    }
+
     public sealed interface Shape permits RectShape, CircShape, GridShape {
         boolean overlaps(Collider other, int xOffset, int yOffset);
+
+        /**
+         * Set the specified rectangle to the world space bounds of this shape
+         *
+         * @param out the {@link Rectangle} to set
+         * @return the output rectangle
+         */
+        Rectangle bounds(Rectangle out);
     }
 
     // ------------------------------------------------------------------------
@@ -33,6 +57,13 @@ public class Collider extends Component {
     public final Mask mask;
     public final Shape shape;
 
+    /**
+     * Static colliders are expected to never move once created (walls, tilemap grids),
+     * so they're kept in a separate, rarely rebuilt partition of the {@link ColliderIndex}.
+     * Grid colliders are static by default, rect and circle colliders are dynamic by default.
+     */
+    private boolean isStatic;
+
     // ------------------------------------------------------------------------
     // Factory methods and private constructors
     // ------------------------------------------------------------------------
@@ -74,6 +105,7 @@ public class Collider extends Component {
         super(entity);
         this.mask = mask;
         this.shape = new GridShape(this, tileSize, cols, rows);
+        this.isStatic = true;
     }
 
     // ------------------------------------------------------------------------
@@ -87,6 +119,21 @@ public class Collider extends Component {
         throw new GdxRuntimeException("Collider shape is not the specified type: " + shapeClass);
     }
 
+    public boolean isStatic() {
+        return isStatic;
+    }
+
+    /**
+     * Flag this collider as static or dynamic, moving it to the matching partition of the {@link ColliderIndex}
+     */
+    public Collider setStatic(boolean isStatic) {
+        if (this.isStatic != isStatic) {
+            this.isStatic = isStatic;
+            entity.scene.world.colliders.changed(this);
+        }
+        return this;
+    }
+
     public boolean check(Mask mask) {
         return check(mask, 0, 0);
     }
@@ -97,8 +144,9 @@ public class Collider extends Component {
     }
 
     public Collider checkAndGet(Mask mask, int xOffset, int yOffset) {
-        var colliders = entity.scene.world.getComponents(Collider.class);
-        for (var other : colliders) {
+        var colliders = candidates(xOffset, yOffset);
+        for (int i = 0; i < colliders.size; i++) {
+            var other = colliders.get(i);
             if (other == this) continue;
             if (other.inactive()) continue;
             if (mask != other.mask) continue;
@@ -111,8 +159,9 @@ public class Collider extends Component {
     }
 
     public Collider checkAndGet(EnumSet<Mask> masks, int xOffset, int yOffset) {
-        var colliders = entity.scene.world.getComponents(Collider.class);
-        for (var other : colliders) {
+        var colliders = candidates(xOffset, yOffset);
+        for (int i = 0; i < colliders.size; i++) {
+            var other = colliders.get(i);
             if (other == this) continue;
             if (other.inactive()) continue;
             if (!masks.contains(other.mask)) continue;
@@ -124,6 +173,182 @@ public class Collider extends Component {
         return null;
     }
 
+    /**
+     * Find all colliders overlapping this collider's shape at the specified offset that match one of the masks.
+     *
+     * @param out caller owned buffer that is cleared then filled with hit colliders
+     * @return the number of hits written to the output buffer
+     */
+    public int checkAll(EnumSet<Mask> masks, int xOffset, int yOffset, Array<Collider> out) {
+        return checkAll(masks, xOffset, yOffset, null, false, out);
+    }
+
+    /**
+     * Find all colliders overlapping this collider's shape at the specified offset
+     * that match one of the masks and are accepted by the optional filter.
+     *
+     * @param masks          only colliders with one of these masks are considered
+     * @param filter         optional extra predicate, null to accept everything that matches a mask
+     * @param sortByDistance whether to order hits nearest first, measured between bounds centers
+     * @param out            caller owned buffer that is cleared then filled with hit colliders
+     * @return the number of hits written to the output buffer
+     */
+    public int checkAll(EnumSet<Mask> masks, int xOffset, int yOffset, Filter filter, boolean sortByDistance, Array<Collider> out) {
+        out.clear();
+
+        var colliders = candidates(xOffset, yOffset);
+        for (int i = 0; i < colliders.size; i++) {
+            var other = colliders.get(i);
+            if (other == this) continue;
+            if (other.inactive()) continue;
+            if (!masks.contains(other.mask)) continue;
+            if (filter != null && !filter.accept(other)) continue;
+
+            if (shape.overlaps(other, xOffset, yOffset)) {
+                out.add(other);
+            }
+        }
+
+        if (sortByDistance && out.size > 1) {
+            sortByDistance(xOffset, yOffset, out);
+        }
+        return out.size;
+    }
+
+    /**
+     * Gather colliders from the broadphase that could overlap this collider's shape at the specified offset.
+     * NOTE: the returned array is a shared scratch buffer, it's only valid until the next call
+     */
+    private Array<Collider> candidates(int xOffset, int yOffset) {
+        var index = entity.scene.world.colliders;
+        index.refresh(this);
+
+        var area = shape.bounds(Util.rect.obtain());
+        area.x += xOffset;
+        area.y += yOffset;
+
+        scratch.clear();
+        index.query(area, scratch);
+
+        Util.free(area);
+        return scratch;
+    }
+
+    /**
+     * Insertion sort of hits by squared distance between bounds centers, nearest first.
+     * Hit counts are expected to be small, and this keeps equal distances in broadphase order.
+     */
+    private void sortByDistance(int xOffset, int yOffset, Array<Collider> hits) {
+        var bounds = shape.bounds(Util.rect.obtain());
+        var cx = bounds.x + bounds.width / 2f + xOffset;
+        var cy = bounds.y + bounds.height / 2f + yOffset;
+
+        distances.clear();
+        for (int i = 0; i < hits.size; i++) {
+            hits.get(i).shape.bounds(bounds);
+            var dx = bounds.x + bounds.width / 2f - cx;
+            var dy = bounds.y + bounds.height / 2f - cy;
+            distances.add(dx * dx + dy * dy);
+        }
+        Util.free(bounds);
+
+        var dist = distances.items;
+        for (int i = 1; i < hits.size; i++) {
+            var hit = hits.get(i);
+            var d = dist[i];
+            int j = i - 1;
+            while (j >= 0 && dist[j] > d) {
+                hits.set(j + 1, hits.get(j));
+                dist[j + 1] = dist[j];
+                j--;
+            }
+            hits.set(j + 1, hit);
+            dist[j + 1] = d;
+        }
+    }
+
+    /**
+     * Exact overlap test between a world space rectangle and the shape of the specified collider,
+     * shared by {@link RectShape} and other non-collider overlap tests like {@link Trigger}
+     */
+    public static boolean overlaps(Rectangle aRect, Collider other) {
+        var bPos = Util.vec2.obtain().setZero();
+        var bPosition = other.entity.get(Position.class);
+        if (bPosition != null && bPosition.active) bPos.set(bPosition.value);
+
+        var overlaps = false;
+        if (other.shape instanceof RectShape otherShape) {
+            var bRect = Util.rect.obtain();
+
+            bRect.set(
+                otherShape.rect.x + bPos.x,
+                otherShape.rect.y + bPos.y,
+                otherShape.rect.width,
+                otherShape.rect.height
+            );
+            overlaps = aRect.overlaps(bRect);
+
+            Util.free(bRect);
+        } else if (other.shape instanceof CircShape otherShape) {
+            var bCirc = Util.circ.obtain();
+
+            bCirc.set(
+                otherShape.circ.x + bPos.x,
+                otherShape.circ.y + bPos.y,
+                otherShape.circ.radius
+            );
+            overlaps = Intersector.overlaps(bCirc, aRect);
+
+            Util.free(bCirc);
+        } else if (other.shape instanceof GridShape otherGrid) {
+            var rows = otherGrid.rows;
+            var cols = otherGrid.cols;
+            var tileSize = otherGrid.tileSize;
+
+            // construct the rectangle describing the boundary of the grid
+            var gridBounds = Util.rect.obtain().set(
+                bPos.x, bPos.y,
+                cols * tileSize,
+                rows * tileSize
+            );
+
+            // only worth checking against the grid tiles if the rectangle is within the grid bounds
+            if (aRect.overlaps(gridBounds)) {
+                // calc the rectangular extents of the rectangle relative to the grid (instead of relative to the world)
+                // this is needed so that we can determine what horiz/vert ranges of tiles could have an overlap
+                var rectRelativeX = aRect.x - bPos.x;
+                var rectRelativeY = aRect.y - bPos.y;
+                var rectLeft   = rectRelativeX;
+                var rectRight  = rectRelativeX + aRect.width;
+                var rectTop    = rectRelativeY + aRect.height;
+                var rectBottom = rectRelativeY;
+
+                // get the range of grid tiles that the rectangle overlaps on each axis
+                int left   = Calc.clampInt((int) Calc.floor  (rectLeft   / (float) tileSize), 0, cols);
+                int right  = Calc.clampInt((int) Calc.ceiling(rectRight  / (float) tileSize), 0, cols);
+                int top    = Calc.clampInt((int) Calc.ceiling(rectTop    / (float) tileSize), 0, rows);
+                int bottom = Calc.clampInt((int) Calc.floor  (rectBottom / (float) tileSize), 0, rows);
+
+                // check each tile in the possible overlap range for solidity
+                for (int y = bottom; y < top; y++) {
+                    for (int x = left; x < right; x++) {
+                        var i = x + y * cols;
+                        var solid = otherGrid.tiles[i].solid;
+                        if (solid) {
+                            overlaps = true;
+                            break;
+                        }
+                    }
+                }
+            }
+
+            Util.free(gridBounds);
+        }
+
+        Util.free(bPos);
+        return overlaps;
+    }
+
     // ------------------------------------------------------------------------
     // Concrete shape types and shape-shape collision implementations
     // ------------------------------------------------------------------------
@@ -139,92 +364,29 @@ public class Collider extends Component {
             this.rect = new Rectangle(x, y, w, h);
         }
 
+        @Override
+        public Rectangle bounds(Rectangle out) {
+            var position = collider.entity.getIfActive(Position.class);
+            var x = (position != null) ? position.x() : 0f;
+            var y = (position != null) ? position.y() : 0f;
+            return out.set(rect.x + x, rect.y + y, rect.width, rect.height);
+        }
+
         @Override
         public boolean overlaps(Collider other, int xOffset, int yOffset) {
             var aRect = Util.rect.obtain().set(0, 0, 0, 0);
             var aPos = Util.vec2.obtain().setZero();
-            var bPos = Util.vec2.obtain().setZero();
 
             var aPosition = collider.entity.get(Position.class);
-            var bPosition = other.entity.get(Position.class);
             if (aPosition != null && aPosition.active) aPos.set(aPosition.value);
-            if (bPosition != null && bPosition.active) bPos.set(bPosition.value);
 
             aRect.set(
                 rect.x + aPos.x + xOffset,
                 rect.y + aPos.y + yOffset,
                 rect.width, rect.height);
 
-            var overlaps = false;
-            if (other.shape instanceof RectShape otherShape) {
-                var bRect = Util.rect.obtain();
-
-                bRect.set(
-                    otherShape.rect.x + bPos.x,
-                    otherShape.rect.y + bPos.y,
-                    otherShape.rect.width,
-                    otherShape.rect.height
-                );
-                overlaps = aRect.overlaps(bRect);
-
-                Util.free(bRect);
-            } else if (other.shape instanceof CircShape otherShape) {
-                var bCirc = Util.circ.obtain();
-
-                bCirc.set(
-                    otherShape.circ.x + bPos.x,
-                    otherShape.circ.y + bPos.y,
-                    otherShape.circ.radius
-                );
-                overlaps = Intersector.overlaps(bCirc, aRect);
-
-                Util.free(bCirc);
-            } else if (other.shape instanceof GridShape otherGrid) {
-                var rows = otherGrid.rows;
-                var cols = otherGrid.cols;
-                var tileSize = otherGrid.tileSize;
-
-                // construct the rectangle describing the boundary of the grid
-                var gridBounds = Util.rect.obtain().set(
-                    bPos.x, bPos.y,
-                    cols * tileSize,
-                    rows * tileSize
-                );
-
-                // only worth checking against the grid tiles if the rectangle is within the grid bounds
-                if (aRect.overlaps(gridBounds)) {
-                    // calc the rectangular extents of the rectangle relative to the grid (instead of relative to the world)
-                    // this is needed so that we can determine what horiz/vert ranges of tiles could have an overlap
-                    var rectRelativeX = rect.x + aPos.x + xOffset - bPos.x;
-                    var rectRelativeY = rect.y + aPos.y + yOffset - bPos.y;
-                    var rectLeft   = rectRelativeX;
-                    var rectRight  = rectRelativeX + rect.width;
-                    var rectTop    = rectRelativeY + rect.height;
-                    var rectBottom = rectRelativeY;
-
-                    // get the range of grid tiles that the rectangle overlaps on each axis
-                    int left   = Calc.clampInt((int) Calc.floor  (rectLeft   / (float) tileSize), 0, cols);
-                    int right  = Calc.clampInt((int) Calc.ceiling(rectRight  / (float) tileSize), 0, cols);
-                    int top    = Calc.clampInt((int) Calc.ceiling(rectTop    / (float) tileSize), 0, rows);
-                    int bottom = Calc.clampInt((int) Calc.floor  (rectBottom / (float) tileSize), 0, rows);
+            var overlaps = Collider.overlaps(aRect, other);
 
-                    // check each tile in the possible overlap range for solidity
-                    for (int y = bottom; y < top; y++) {
-                        for (int x = left; x < right; x++) {
-                            var i = x + y * cols;
-                            var solid = otherGrid.tiles[i].solid;
-                            if (solid) {
-                                overlaps = true;
-                                break;
-                            }
-                        }
-                    }
-                }
-
-                Util.free(gridBounds);
-            }
-
-            Util.free(bPos);
             Util.free(aPos);
             Util.free(aRect);
             return overlaps;
@@ -242,6 +404,18 @@ public class Collider extends Component {
             this.circ = new Circle(x, y, radius);
         }
 
+        @Override
+        public Rectangle bounds(Rectangle out) {
+            var position = collider.entity.getIfActive(Position.class);
+            var x = (position != null) ? position.x() : 0f;
+            var y = (position != null) ? position.y() : 0f;
+            return out.set(
+                circ.x + x - circ.radius,
+                circ.y + y - circ.radius,
+                2 * circ.radius,
+                2 * circ.radius);
+        }
+
         @Override
         public boolean overlaps(Collider other, int xOffset, int yOffset) {
             var aCirc = Util.circ.obtain();
@@ -352,6 +526,13 @@ public class Collider extends Component {
         public final int rows;
         public final Tile[] tiles;
 
+        /**
+         * Incremented whenever a tile's solidity is changed through {@link #set},
+         * so derived data (navigation graphs, cached debug geometry) knows when to rebuild.
+         * Code that modifies {@link Tile#solid} directly should call {@link #markChanged()}.
+         */
+        private int version;
+
         public static class Tile  {
             public boolean solid;
         }
@@ -376,7 +557,26 @@ public class Collider extends Component {
                 return;
             }
             int index = x + y * cols;
-            tiles[index].solid = solid;
+            if (tiles[index].solid != solid) {
+                tiles[index].solid = solid;
+                version++;
+            }
+        }
+
+        public int version() {
+            return version;
+        }
+
+        public void markChanged() {
+            version++;
+        }
+
+        @Override
+        public Rectangle bounds(Rectangle out) {
+            var position = collider.entity.getIfActive(Position.class);
+            var x = (position != null) ? position.x() : 0f;
+            var y = (position != null) ? position.y() : 0f;
+            return out.set(x, y, cols * tileSize, rows * tileSize);
         }
 
         @Override
@@ -1,15 +1,20 @@
 package lando.systems.game.scene.components;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.FloatArray;
 import lando.systems.game.Config;
 import lando.systems.game.assets.Fonts;
+import lando.systems.game.assets.TextLayouts;
 import lando.systems.game.scene.framework.Entity;
 import lando.systems.game.scene.framework.families.RenderableComponent;
+import lando.systems.game.scene.render.RenderQueue;
 import lando.systems.game.utils.Callbacks;
-import lando.systems.game.utils.Util;
 import space.earlygrey.shapedrawer.ShapeDrawer;
 
+import java.util.Arrays;
+
 public class DebugRender extends RenderableComponent {
 
     // TODO(brian): update to leverage Shape component for some of these
@@ -19,6 +24,8 @@ public class DebugRender extends RenderableComponent {
     // ------------------------------------------------------------------------
 
     private static final boolean DRAW_FILLED = false;
+    private static final Color COLLIDER_COLOR = Color.MAGENTA.cpy();
+    private static final Color COLLIDER_FILL_COLOR = new Color(COLLIDER_COLOR.r, COLLIDER_COLOR.g, COLLIDER_COLOR.b, 0.25f);
 
     /**
      * Base class for optional render callback parameters. Extend this class
@@ -45,11 +52,40 @@ public class DebugRender extends RenderableComponent {
             this(Fonts.Type.ROUNDABOUT, Fonts.Variant.DEFAULT_NAME, text);
         }
 
+        /**
+         * Layout for the text, font and font color it was last requested with, so unchanged labels skip even the cache lookup
+         */
+        private GlyphLayout layout;
+        private Fonts.Type layoutFontType;
+        private String layoutFontVariant;
+        private String layoutText;
+        private int layoutColor;
+
         public TextParams(Fonts.Type fontType, String fontVariant, String text) {
             this.fontType = fontType;
             this.fontVariant = fontVariant;
             this.text = text;
         }
+
+        /**
+         * Get the layout for the current text, font and font color, going through the specified cache only if any changed
+         */
+        public GlyphLayout layout(TextLayouts layouts) {
+            var color = fontType.getFont(fontVariant).getColor().toIntBits();
+            var changed = layout == null
+                || fontType != layoutFontType
+                || !fontVariant.equals(layoutFontVariant)
+                || !text.equals(layoutText)
+                || color != layoutColor;
+            if (changed) {
+                layout = layouts.get(fontType, fontVariant, text);
+                layoutFontType = fontType;
+                layoutFontVariant = fontVariant;
+                layoutText = text;
+                layoutColor = color;
+            }
+            return layout;
+        }
     }
 
     /**
@@ -84,8 +120,8 @@ public class DebugRender extends RenderableComponent {
         var position = entity.get(Position.class);
         if (position == null) return;
 
-        var color = Color.MAGENTA;
-        var colorFill = color.cpy(); colorFill.a = 0.25f;
+        var color = COLLIDER_COLOR;
+        var colorFill = COLLIDER_FILL_COLOR;
         var lineWidth = 1.5f;
 
         // draw collider
@@ -93,73 +129,40 @@ public class DebugRender extends RenderableComponent {
         if (collider != null) {
             switch (collider.shape) {
                 case Collider.RectShape shape -> {
-                    var rect = Util.rect.obtain().set(
-                        shape.rect.x + position.x(),
-                        shape.rect.y + position.y(),
-                        shape.rect.width,
-                        shape.rect.height
-                    );
+                    var x = shape.rect.x + position.x();
+                    var y = shape.rect.y + position.y();
                     if (DRAW_FILLED) {
-                        shapes.filledRectangle(rect, colorFill);
+                        shapes.filledRectangle(x, y, shape.rect.width, shape.rect.height, colorFill);
                     } else {
-                        shapes.rectangle(rect, color, lineWidth);
+                        shapes.rectangle(x, y, shape.rect.width, shape.rect.height, color, lineWidth);
                     }
-                    Util.free(rect);
                 }
                 case Collider.CircShape shape -> {
-                    var circ = Util.circ.obtain();
-                    circ.set(
-                        shape.circ.x + position.x(),
-                        shape.circ.y + position.y(),
-                        shape.circ.radius
-                    );
+                    var x = shape.circ.x + position.x();
+                    var y = shape.circ.y + position.y();
                     if (DRAW_FILLED) {
                         shapes.setColor(0f, 1f, 1f, 0.5f);
-                        shapes.filledCircle(circ.x, circ.y, circ.radius);
+                        shapes.filledCircle(x, y, shape.circ.radius);
                         shapes.setColor(Color.WHITE);
                     } else {
                         shapes.setColor(Color.YELLOW);
-                        shapes.circle(circ.x, circ.y, circ.radius, lineWidth);
+                        shapes.circle(x, y, shape.circ.radius, lineWidth);
                         shapes.setColor(Color.WHITE);
                     }
-                    Util.free(circ);
                 }
                 case Collider.GridShape shape -> {
-                    var rect = Util.rect.obtain();
-
-                    int numTiles = shape.cols * shape.rows;
-                    for (int i = 0; i < numTiles; i++) {
-                        var tile = shape.tiles[i];
-                        if (tile.solid) {
-                            int x = i % shape.cols;
-                            int y = i / shape.cols;
-                            int size = shape.tileSize;
-                            rect.set(
-                                position.x() + x * size,
-                                position.y() + y * size,
-                                size, size
-                            );
-                            if (DRAW_FILLED) {
-                                shapes.filledRectangle(rect, colorFill);
-                            } else {
-                                shapes.rectangle(rect, color, lineWidth);
-                            }
-                        }
-                    }
+                    params.self.gridGeometry.render(shapes, shape, position, colorFill, color, lineWidth);
 
                     var boundary = collider.entity.get(Boundary.class);
                     if (boundary != null) {
-                        rect.set(boundary.bounds);
                         if (DRAW_FILLED) {
                             shapes.setColor(1f, 1f, 0f, 0.1f);
-                            shapes.filledRectangle(rect);
+                            shapes.filledRectangle(boundary.bounds);
                             shapes.setColor(Color.WHITE);
                         } else {
-                            shapes.rectangle(rect, Color.YELLOW, lineWidth);
+                            shapes.rectangle(boundary.bounds, Color.YELLOW, lineWidth);
                         }
                     }
-
-                    Util.free(rect);
                 }
             }
         }
@@ -177,6 +180,105 @@ public class DebugRender extends RenderableComponent {
      */
     private final Params DEFAULT_PARAMS = new Params() {};
 
+    /**
+     * Solid tiles of a grid collider merged into as few rectangles as possible, stored as
+     * (x, y, width, height) runs in grid-local coordinates. Only rebuilt when the grid's
+     * {@link Collider.GridShape#version()} changes, and only rectangles overlapping
+     * the camera view are drawn.
+     */
+    private static final class GridGeometry {
+
+        private final FloatArray rects = new FloatArray();
+        private boolean[] visited = new boolean[0];
+        private Collider.GridShape grid;
+        private int version;
+
+        void render(ShapeDrawer shapes, Collider.GridShape shape, Position position,
+                    Color colorFill, Color color, float lineWidth) {
+            if (shape != grid || shape.version() != version) {
+                rebuild(shape);
+            }
+
+            // camera view in grid-local coordinates
+            var camera = position.entity.scene.renderCamera();
+            var halfWidth  = camera.viewportWidth  * camera.zoom / 2f;
+            var halfHeight = camera.viewportHeight * camera.zoom / 2f;
+            var minX = camera.position.x - halfWidth  - position.x();
+            var minY = camera.position.y - halfHeight - position.y();
+            var maxX = camera.position.x + halfWidth  - position.x();
+            var maxY = camera.position.y + halfHeight - position.y();
+
+            var items = rects.items;
+            for (int i = 0; i < rects.size; i += 4) {
+                var x = items[i];
+                var y = items[i + 1];
+                var w = items[i + 2];
+                var h = items[i + 3];
+                if (x > maxX || y > maxY || x + w < minX || y + h < minY) continue;
+
+                if (DRAW_FILLED) {
+                    shapes.filledRectangle(position.x() + x, position.y() + y, w, h, colorFill);
+                } else {
+                    shapes.rectangle(position.x() + x, position.y() + y, w, h, color, lineWidth);
+                }
+            }
+        }
+
+        /**
+         * Greedy merge: grow each unvisited solid tile into the widest run in its row,
+         * then extend that run upward while the whole span stays solid
+         */
+        private void rebuild(Collider.GridShape shape) {
+            grid = shape;
+            version = shape.version();
+            rects.clear();
+
+            var cols = shape.cols;
+            var rows = shape.rows;
+            var size = shape.tileSize;
+            if (visited.length < cols * rows) {
+                visited = new boolean[cols * rows];
+            } else {
+                Arrays.fill(visited, false);
+            }
+
+            for (int y = 0; y < rows; y++) {
+                for (int x = 0; x < cols; x++) {
+                    if (!isOpen(shape, x, y)) continue;
+
+                    int w = 1;
+                    while (x + w < cols && isOpen(shape, x + w, y)) w++;
+
+                    int h = 1;
+                    grow:
+                    while (y + h < rows) {
+                        for (int i = 0; i < w; i++) {
+                            if (!isOpen(shape, x + i, y + h)) break grow;
+                        }
+                        h++;
+                    }
+
+                    for (int j = 0; j < h; j++) {
+                        for (int i = 0; i < w; i++) {
+                            visited[(x + i) + (y + j) * cols] = true;
+                        }
+                    }
+                    rects.add(x * size, y * size, w * size, h * size);
+                }
+            }
+        }
+
+        private boolean isOpen(Collider.GridShape shape, int x, int y) {
+            int index = x + y * shape.cols;
+            return shape.tiles[index].solid && !visited[index];
+        }
+    }
+
+    /**
+     * Cached debug geometry for this component's grid collider, see {@link #DRAW_POSITION_AND_COLLIDER}
+     */
+    private final GridGeometry gridGeometry = new GridGeometry();
+
     // ------------------------------------------------------------------------
     // Fields
     // ------------------------------------------------------------------------
@@ -212,12 +314,14 @@ public class DebugRender extends RenderableComponent {
 
     public DebugRender(Entity entity) {
         super(entity);
+        setLayer(RenderQueue.Layer.DEBUG);
     }
 
     private DebugRender(Entity entity,
                         Callbacks.TypedArg<Params> onBatchRender, Params batchParams,
                         Callbacks.TypedArg<Params> onShapeRender, Params shapeParams) {
         super(entity);
+        setLayer(RenderQueue.Layer.DEBUG);
         this.onBatchRender = onBatchRender;
         this.onShapeRender = onShapeRender;
         this.onBatchRenderParams = (batchParams != null) ? batchParams : DEFAULT_PARAMS;
@@ -244,6 +348,15 @@ public class DebugRender extends RenderableComponent {
         }
     }
 
+    /**
+     * Debug visuals are drawn around the entity's position and collider rather than within
+     * this component's own bounds, so they're never culled
+     */
+    @Override
+    public boolean cullable() {
+        return false;
+    }
+
     @Override
     public void render(SpriteBatch batch) {
         if (Config.Flag.RENDER.isDisabled()) return;
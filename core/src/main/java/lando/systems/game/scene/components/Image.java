@@ -1,6 +1,5 @@
 package lando.systems.game.scene.components;
 
-import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
@@ -10,8 +9,6 @@ import lando.systems.game.utils.Util;
 
 public class Image extends RenderableComponent {
 
-    private final Color prevColor = new Color(1, 0, 1, 1);
-
     private ImageValue value;
 
     public Image(Entity entity, Texture texture) {
@@ -28,19 +25,31 @@ public class Image extends RenderableComponent {
 
     public void set(Texture texture) {
         value = new TextureImage(texture);
+        markChanged();
+        markDirty();
     }
 
     public void set(TextureRegion region) {
         value = new RegionImage(region);
+        markChanged();
+        markDirty();
+    }
+
+    @Override
+    public Texture texture() {
+        if (value instanceof RegionImage(TextureRegion region)) {
+            return region.getTexture();
+        } else if (value instanceof TextureImage(Texture texture)) {
+            return texture;
+        }
+        return null;
     }
 
     @Override
     public void render(SpriteBatch batch) {
         if (value == null) return;
 
-        prevColor.set(batch.getColor());
-        batch.setColor(tint);
-
+        var tint = state().packedTint;
         var rect = obtainPooledRectBounds();
         if (value instanceof RegionImage(TextureRegion region)) {
             Util.draw(batch, region, rect, tint);
@@ -48,11 +57,9 @@ public class Image extends RenderableComponent {
             // repeat texture as much as needed to fill the draw bounds
             float u2 = rect.width / texture.getWidth();
             float v2 = rect.height / texture.getHeight();
-            batch.draw(texture, rect.x, rect.y, rect.width, rect.height, 0, 0, u2, v2);
+            Util.draw(batch, texture, rect.x, rect.y, rect.width, rect.height, 0, 0, u2, v2, tint);
         }
         Util.free(rect);
-
-        batch.setColor(prevColor);
     }
 
     // ------------------------------------------------------------------------
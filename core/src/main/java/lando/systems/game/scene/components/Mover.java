@@ -181,16 +181,21 @@ public class Mover extends Component {
         if (position == null) return false;
 
         if (collider == null || collider.inactive()) {
-            position.value.x += amount;
+            position.move(amount, 0);
             return true;
         } else {
             // for each pixel, if moving there wouldn't collide then move,
             // otherwise run onHit callback or stop if no callback is set
             var sign = Calc.sign(amount);
 
+            // step the value directly and notify once at the end, rather than marking dirty for every pixel
+            var moved = false;
             while (amount != 0) {
                 var hitCollider = collider.checkAndGet(collidesWith, sign, 0);
                 if (hitCollider != null) {
+                    if (moved) {
+                        position.changed();
+                    }
                     if (onHitX != null) {
                         var onHitParams = new OnHitParams(hitCollider, Direction.Relative.from(sign, Direction.Axis.X));
                         onHitX.run(onHitParams);
@@ -202,6 +207,10 @@ public class Mover extends Component {
 
                 amount -= sign;
                 position.value.x += sign;
+                moved = true;
+            }
+            if (moved) {
+                position.changed();
             }
         }
         return false;
@@ -220,16 +229,21 @@ public class Mover extends Component {
         if (position == null) return false;
 
         if (collider == null || collider.inactive()) {
-            position.value.y += amount;
+            position.move(0, amount);
             return true;
         } else {
             // for each pixel, if moving there wouldn't collide then move,
             // otherwise run onHit callback or stop if no callback is set
             var sign = Calc.sign(amount);
 
+            // step the value directly and notify once at the end, rather than marking dirty for every pixel
+            var moved = false;
             while (amount != 0) {
                 var hitCollider = collider.checkAndGet(collidesWith, 0, sign);
                 if (hitCollider != null) {
+                    if (moved) {
+                        position.changed();
+                    }
                     if (onHitY != null) {
                         var onHitParams = new OnHitParams(hitCollider, Direction.Relative.from(sign, Direction.Axis.Y));
                         onHitY.run(onHitParams);
@@ -241,6 +255,10 @@ public class Mover extends Component {
 
                 amount -= sign;
                 position.value.y += sign;
+                moved = true;
+            }
+            if (moved) {
+                position.changed();
             }
         }
         return false;
@@ -0,0 +1,551 @@
+package lando.systems.game.scene.components;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.TimeUtils;
+import lando.systems.game.math.Calc;
+import lando.systems.game.scene.framework.Component;
+import lando.systems.game.scene.framework.Entity;
+import lando.systems.game.utils.LruMap;
+import lando.systems.game.utils.Util;
+import space.earlygrey.simplegraphs.Graph;
+import space.earlygrey.simplegraphs.UndirectedGraph;
+import space.earlygrey.simplegraphs.utils.Heuristic;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Navigation over the open tiles of a {@link Collider.GridShape}.
+ * <ul>
+ *     <li>
+ *         point to point queries use A* over a {@link Graph} of walkable cells,
+ *         with results kept in a bounded LRU cache keyed by start and target cell
+ *     </li>
+ *     <li>
+ *         many agents heading to the same place (eg. chasing the player) should use
+ *         a {@link FlowField} instead, which is computed once per target cell and shared
+ *     </li>
+ * </ul>
+ * The graph and caches are rebuilt lazily when {@link Collider.GridShape#version()} changes.
+ * <p>
+ * Bursts of path requests (eg. every agent re-pathing after the map changes) should go through
+ * {@link #request}, which queues them by priority and works through the queue in {@link #update}
+ * within {@link #budgetMillis} per frame. Requesters poll the returned {@link PathRequest} handle.
+ */
+public class NavGrid extends Component {
+
+    private static final String TAG = NavGrid.class.getSimpleName();
+
+    private static final int DEFAULT_PATH_CACHE_SIZE = 128;
+    private static final int DEFAULT_FLOW_FIELD_CACHE_SIZE = 8;
+    private static final float DEFAULT_BUDGET_MILLIS = 1f;
+    private static final float DIAGONAL_COST = 1.4142135f;
+
+    // neighbor offsets, the first four are orthogonal and the rest are diagonal
+    private static final int[] DX = { 1, -1, 0,  0, 1, -1,  1, -1 };
+    private static final int[] DY = { 0,  0, 1, -1, 1,  1, -1, -1 };
+
+    // ------------------------------------------------------------------------
+    // Data
+    // ------------------------------------------------------------------------
+
+    public final Collider collider;
+    public final Collider.GridShape grid;
+    public final boolean allowDiagonals;
+
+    /**
+     * Vertex for each walkable cell, null for solid cells
+     */
+    private final Node[] nodes;
+    private final Heuristic<Node> heuristic;
+    private final Map<Long, NavPath> paths;
+    private final Map<Integer, FlowField> flowFields;
+    private final int[] queue;
+    private final PriorityQueue<PathRequest> requests;
+    private final Rectangle gridBounds = new Rectangle();
+
+    private Graph<Node> graph;
+    private int gridVersion;
+    private long requestSequence;
+
+    /**
+     * Time allowed per {@link #update} for working through queued path requests.
+     * At least one request is always processed per update so the queue can't stall,
+     * so a single search that runs long can overshoot the budget.
+     */
+    public float budgetMillis = DEFAULT_BUDGET_MILLIS;
+
+    public int pathCacheHits;
+    public int pathCacheMisses;
+    public int flowFieldBuilds;
+
+    // ------------------------------------------------------------------------
+    // Constructors
+    // ------------------------------------------------------------------------
+
+    public NavGrid(Entity entity, Collider collider) {
+        this(entity, collider, false, DEFAULT_PATH_CACHE_SIZE, DEFAULT_FLOW_FIELD_CACHE_SIZE);
+    }
+
+    public NavGrid(Entity entity, Collider collider, boolean allowDiagonals, int pathCacheSize, int flowFieldCacheSize) {
+        super(entity);
+        this.collider = collider;
+        this.grid = collider.shape(Collider.GridShape.class);
+        this.allowDiagonals = allowDiagonals;
+        this.nodes = new Node[grid.cols * grid.rows];
+        this.queue = new int[grid.cols * grid.rows];
+        this.paths = new LruMap<>(pathCacheSize);
+        this.flowFields = new LruMap<>(flowFieldCacheSize);
+        this.heuristic = allowDiagonals ? NavGrid::octile : NavGrid::manhattan;
+        this.requests = new PriorityQueue<>(PathRequest.ORDER);
+        this.gridVersion = grid.version() - 1;
+    }
+
+    // ------------------------------------------------------------------------
+    // Cell conversions
+    // ------------------------------------------------------------------------
+
+    /**
+     * @return the index of the grid cell containing the specified world position, or -1 if outside the grid
+     */
+    public int cellAt(float worldX, float worldY) {
+        var bounds = grid.bounds(gridBounds);
+        int x = (int) Calc.floor((worldX - bounds.x) / grid.tileSize);
+        int y = (int) Calc.floor((worldY - bounds.y) / grid.tileSize);
+        if (!Calc.inRange(x, 0, grid.cols) || !Calc.inRange(y, 0, grid.rows)) {
+            return -1;
+        }
+        return x + y * grid.cols;
+    }
+
+    /**
+     * Set the output vector to the world position at the center of the specified cell
+     */
+    public Vector2 cellCenter(int cell, Vector2 out) {
+        var bounds = grid.bounds(gridBounds);
+        var half = grid.tileSize / 2f;
+        return out.set(
+            bounds.x + (cell % grid.cols) * grid.tileSize + half,
+            bounds.y + (cell / grid.cols) * grid.tileSize + half);
+    }
+
+    public boolean walkable(int cell) {
+        return cell >= 0 && cell < grid.tiles.length && !grid.tiles[cell].solid;
+    }
+
+    // ------------------------------------------------------------------------
+    // A* queries
+    // ------------------------------------------------------------------------
+
+    public NavPath findPath(float fromX, float fromY, float toX, float toY) {
+        return findPath(cellAt(fromX, fromY), cellAt(toX, toY));
+    }
+
+    /**
+     * Find a path between the specified cells, served from the path cache when possible.
+     *
+     * @return the path, or {@link NavPath#NONE} if either cell isn't walkable or no path exists.
+     *  <strong>Returned paths are shared through the cache and must not be modified.</strong>
+     */
+    public NavPath findPath(int fromCell, int toCell) {
+        ensureCurrent();
+        if (!walkable(fromCell) || !walkable(toCell)) {
+            return NavPath.NONE;
+        }
+
+        var key = key(fromCell, toCell);
+        var path = paths.get(key);
+        if (path != null) {
+            pathCacheHits++;
+            return path;
+        }
+
+        pathCacheMisses++;
+        path = search(fromCell, toCell);
+        paths.put(key, path);
+        return path;
+    }
+
+    /**
+     * Run an uncached A* search, mostly for use by {@link #findPath}
+     */
+    NavPath search(int fromCell, int toCell) {
+        ensureCurrent();
+        if (!walkable(fromCell) || !walkable(toCell)) {
+            return NavPath.NONE;
+        }
+
+        var result = graph.algorithms().findShortestPath(nodes[fromCell], nodes[toCell], heuristic);
+        if (result == null || result.isEmpty()) {
+            return NavPath.NONE;
+        }
+
+        var cells = new IntArray(true, result.size());
+        for (var node : result) {
+            cells.add(node.index);
+        }
+        return new NavPath(cells);
+    }
+
+    // ------------------------------------------------------------------------
+    // Queued requests
+    // ------------------------------------------------------------------------
+
+    public PathRequest request(float fromX, float fromY, float toX, float toY, int priority) {
+        return request(cellAt(fromX, fromY), cellAt(toX, toY), priority);
+    }
+
+    /**
+     * Queue a path search to be run within the per-frame budget, higher priorities run first
+     * and requests with equal priority run in the order they were made.
+     * Requests that can be answered from the path cache complete immediately.
+     *
+     * @return handle to poll for the result, or to {@link PathRequest#cancel} if it's no longer needed
+     */
+    public PathRequest request(int fromCell, int toCell, int priority) {
+        var request = new PathRequest(fromCell, toCell, priority, requestSequence++);
+
+        ensureCurrent();
+        var cached = paths.get(key(fromCell, toCell));
+        if (cached != null) {
+            pathCacheHits++;
+            request.complete(cached);
+        } else {
+            requests.add(request);
+        }
+        return request;
+    }
+
+    public int pendingRequests() {
+        return requests.size();
+    }
+
+    @Override
+    public void update(float dt) {
+        if (requests.isEmpty()) return;
+
+        var start = TimeUtils.nanoTime();
+        var budgetNanos = (long) (budgetMillis * 1_000_000L);
+        do {
+            var request = requests.poll();
+            if (request.isCancelled()) continue;
+
+            request.complete(findPath(request.fromCell, request.toCell));
+        } while (!requests.isEmpty() && TimeUtils.timeSinceNanos(start) < budgetNanos);
+
+        // drop cancelled requests at the head of the queue so they don't hold up the next frame
+        while (!requests.isEmpty() && requests.peek().isCancelled()) {
+            requests.poll();
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Flow fields
+    // ------------------------------------------------------------------------
+
+    public FlowField flowField(float targetX, float targetY) {
+        return flowField(cellAt(targetX, targetY));
+    }
+
+    /**
+     * Get the shared flow field leading to the specified cell, computing it if it isn't cached.
+     *
+     * @return the flow field, or null if the target cell isn't walkable
+     */
+    public FlowField flowField(int targetCell) {
+        ensureCurrent();
+        if (!walkable(targetCell)) {
+            return null;
+        }
+
+        var field = flowFields.get(targetCell);
+        if (field == null) {
+            field = buildFlowField(targetCell);
+            flowFields.put(targetCell, field);
+        }
+        return field;
+    }
+
+    private FlowField buildFlowField(int targetCell) {
+        flowFieldBuilds++;
+
+        var cols = grid.cols;
+        var rows = grid.rows;
+        var field = new FlowField(this, targetCell);
+        var cost = field.cost;
+
+        // breadth first integration of step counts outward from the target
+        int head = 0;
+        int tail = 0;
+        cost[targetCell] = 0;
+        queue[tail++] = targetCell;
+        while (head < tail) {
+            var cell = queue[head++];
+            int x = cell % cols;
+            int y = cell / cols;
+            for (int d = 0; d < 4; d++) {
+                int nx = x + DX[d];
+                int ny = y + DY[d];
+                if (!Calc.inRange(nx, 0, cols) || !Calc.inRange(ny, 0, rows)) continue;
+
+                int next = nx + ny * cols;
+                if (grid.tiles[next].solid || cost[next] != FlowField.UNREACHABLE) continue;
+
+                cost[next] = cost[cell] + 1;
+                queue[tail++] = next;
+            }
+        }
+
+        // point each reachable cell at its cheapest neighbor
+        var numDirections = allowDiagonals ? 8 : 4;
+        for (int cell = 0; cell < cost.length; cell++) {
+            if (cost[cell] == FlowField.UNREACHABLE || cell == targetCell) continue;
+
+            int x = cell % cols;
+            int y = cell / cols;
+            int best = -1;
+            int bestCost = cost[cell];
+            for (int d = 0; d < numDirections; d++) {
+                int nx = x + DX[d];
+                int ny = y + DY[d];
+                if (!Calc.inRange(nx, 0, cols) || !Calc.inRange(ny, 0, rows)) continue;
+                if (d >= 4 && cutsCorner(x, y, DX[d], DY[d])) continue;
+
+                int next = nx + ny * cols;
+                if (cost[next] < bestCost) {
+                    best = d;
+                    bestCost = cost[next];
+                }
+            }
+            field.direction[cell] = (byte) best;
+        }
+        return field;
+    }
+
+    // ------------------------------------------------------------------------
+    // Graph construction
+    // ------------------------------------------------------------------------
+
+    /**
+     * Rebuild the graph and drop cached results if the grid changed since the last build
+     */
+    private void ensureCurrent() {
+        if (gridVersion == grid.version()) return;
+        gridVersion = grid.version();
+
+        paths.clear();
+        flowFields.clear();
+
+        var cols = grid.cols;
+        var rows = grid.rows;
+        graph = new UndirectedGraph<>();
+        Arrays.fill(nodes, null);
+        for (int i = 0; i < nodes.length; i++) {
+            if (!grid.tiles[i].solid) {
+                nodes[i] = new Node(i, i % cols, i / cols);
+                graph.addVertex(nodes[i]);
+            }
+        }
+
+        // only link 'forward' neighbors since edges are undirected
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                var node = nodes[x + y * cols];
+                if (node == null) continue;
+
+                link(node, x + 1, y, 1f);
+                link(node, x, y + 1, 1f);
+                if (allowDiagonals) {
+                    if (!cutsCorner(x, y, 1, 1))  link(node, x + 1, y + 1, DIAGONAL_COST);
+                    if (!cutsCorner(x, y, -1, 1)) link(node, x - 1, y + 1, DIAGONAL_COST);
+                }
+            }
+        }
+
+        Util.log(TAG, "built navigation graph for entity %d: %d walkable cells".formatted(entity.id, graph.size()));
+    }
+
+    private void link(Node node, int x, int y, float weight) {
+        if (!Calc.inRange(x, 0, grid.cols) || !Calc.inRange(y, 0, grid.rows)) return;
+        var other = nodes[x + y * grid.cols];
+        if (other != null) {
+            graph.addEdge(node, other, weight);
+        }
+    }
+
+    /**
+     * A diagonal step isn't allowed if either orthogonal cell it passes by is solid
+     */
+    private boolean cutsCorner(int x, int y, int dx, int dy) {
+        return !walkable(cellOrNone(x + dx, y)) || !walkable(cellOrNone(x, y + dy));
+    }
+
+    private int cellOrNone(int x, int y) {
+        if (!Calc.inRange(x, 0, grid.cols) || !Calc.inRange(y, 0, grid.rows)) return -1;
+        return x + y * grid.cols;
+    }
+
+    private static long key(int fromCell, int toCell) {
+        return ((long) fromCell << 32) | (toCell & 0xffffffffL);
+    }
+
+    private static float manhattan(Node a, Node b) {
+        return Calc.abs(a.x - b.x) + Calc.abs(a.y - b.y);
+    }
+
+    private static float octile(Node a, Node b) {
+        var dx = Calc.abs(a.x - b.x);
+        var dy = Calc.abs(a.y - b.y);
+        return (dx + dy) + (DIAGONAL_COST - 2f) * Calc.min(dx, dy);
+    }
+
+    // ------------------------------------------------------------------------
+    // Internal and result types
+    // ------------------------------------------------------------------------
+
+    private static final class Node {
+        final int index;
+        final int x;
+        final int y;
+
+        Node(int index, int x, int y) {
+            this.index = index;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    /**
+     * Sequence of grid cell indices from start to target, inclusive.
+     * Use {@link NavGrid#cellCenter} to convert cells to world positions.
+     */
+    public static final class NavPath {
+
+        public static final NavPath NONE = new NavPath(new IntArray(0));
+
+        public final IntArray cells;
+
+        NavPath(IntArray cells) {
+            this.cells = cells;
+        }
+
+        public boolean found() {
+            return cells.notEmpty();
+        }
+
+        public int size() {
+            return cells.size;
+        }
+
+        public int cell(int i) {
+            return cells.get(i);
+        }
+    }
+
+    /**
+     * Handle for a queued path search, polled by the requester until {@link #isDone()}
+     */
+    public static final class PathRequest {
+
+        static final Comparator<PathRequest> ORDER = (a, b) -> (a.priority != b.priority)
+            ? Integer.compare(b.priority, a.priority)
+            : Long.compare(a.sequence, b.sequence);
+
+        public enum Status { PENDING, DONE, CANCELLED }
+
+        public final int fromCell;
+        public final int toCell;
+        public final int priority;
+
+        private final long sequence;
+        private Status status;
+        private NavPath path;
+
+        PathRequest(int fromCell, int toCell, int priority, long sequence) {
+            this.fromCell = fromCell;
+            this.toCell = toCell;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.status = Status.PENDING;
+            this.path = null;
+        }
+
+        public Status status() {
+            return status;
+        }
+
+        public boolean isDone() {
+            return status == Status.DONE;
+        }
+
+        public boolean isCancelled() {
+            return status == Status.CANCELLED;
+        }
+
+        /**
+         * @return the resulting path once done, which may be {@link NavPath#NONE}, null while pending or if cancelled
+         */
+        public NavPath path() {
+            return path;
+        }
+
+        /**
+         * Mark this request as stale, it'll be skipped if it hasn't run yet
+         */
+        public void cancel() {
+            if (status == Status.PENDING) {
+                status = Status.CANCELLED;
+            }
+        }
+
+        private void complete(NavPath path) {
+            this.path = path;
+            this.status = Status.DONE;
+        }
+    }
+
+    /**
+     * Per-cell step counts to a target cell, along with the direction
+     * to the cheapest neighbor, shared by any number of agents heading for that target.
+     */
+    public static final class FlowField {
+
+        public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+        public final NavGrid nav;
+        public final int target;
+        public final int[] cost;
+        public final byte[] direction;
+
+        FlowField(NavGrid nav, int target) {
+            var size = nav.grid.cols * nav.grid.rows;
+            this.nav = nav;
+            this.target = target;
+            this.cost = new int[size];
+            this.direction = new byte[size];
+            Arrays.fill(cost, UNREACHABLE);
+            Arrays.fill(direction, (byte) -1);
+        }
+
+        public boolean reachable(int cell) {
+            return cell >= 0 && cell < cost.length && cost[cell] != UNREACHABLE;
+        }
+
+        /**
+         * Set the output vector to the normalized direction to move from the specified world position,
+         * or zero if the position is outside the grid, unreachable, or already in the target cell.
+         */
+        public Vector2 direction(float worldX, float worldY, Vector2 out) {
+            var cell = nav.cellAt(worldX, worldY);
+            if (cell < 0 || direction[cell] < 0) {
+                return out.setZero();
+            }
+            var d = direction[cell];
+            return out.set(DX[d], DY[d]).nor();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package lando.systems.game.scene.components;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMapImageLayer;
+import com.badlogic.gdx.utils.Array;
+import lando.systems.game.scene.framework.Entity;
+import lando.systems.game.scene.framework.families.RenderableComponent;
+import lando.systems.game.scene.render.RenderQueue;
+
+/**
+ * Background made of image layers that scroll at different rates relative to the camera.
+ * <p>
+ * Each {@link Layer} has a scroll factor per axis, same as the parallax factor of a Tiled layer:
+ * 1 moves with the world, 0 stays fixed to the camera, and anything in between lags behind
+ * to look further away. Layers that repeat on an axis are tiled to fill the view on that axis,
+ * and only the tiles that overlap the view are drawn.
+ * <p>
+ * Each layer keeps the vertices for its visible tiles and only rebuilds them when the view, the layer
+ * placement or its tint changes, then submits them in one batch draw. Layers are drawn in the order
+ * they were added, and layers cut from the same texture don't cause texture switches between them.
+ * Layers should be set up before the scene starts rendering.
+ */
+public class Parallax extends RenderableComponent {
+
+    private static final int VERTEX_SIZE = 5;
+    private static final int QUAD_SIZE = 4 * VERTEX_SIZE;
+
+    public static class Layer {
+
+        public final TextureRegion region;
+
+        /**
+         * How far the layer moves per unit the camera moves, 1 moves with the world, 0 stays fixed on screen
+         */
+        public float factorX;
+        public float factorY;
+
+        /**
+         * Placement of the layer relative to the entity {@link Position}, for a factor of 1
+         */
+        public float offsetX;
+        public float offsetY;
+
+        public boolean repeatX = true;
+        public boolean repeatY = false;
+
+        public float opacity = 1f;
+
+        // vertices for the visible tiles, and the values they were built from
+        private float[] vertices = new float[QUAD_SIZE];
+        private int vertexCount;
+        private final float[] builtFrom = new float[7];
+        private boolean built;
+
+        public Layer(TextureRegion region, float factorX, float factorY) {
+            this.region = region;
+            this.factorX = factorX;
+            this.factorY = factorY;
+        }
+
+        public Layer offset(float x, float y) {
+            this.offsetX = x;
+            this.offsetY = y;
+            return this;
+        }
+
+        public Layer repeat(boolean x, boolean y) {
+            this.repeatX = x;
+            this.repeatY = y;
+            return this;
+        }
+
+        public Layer opacity(float opacity) {
+            this.opacity = opacity;
+            return this;
+        }
+    }
+
+    public final Array<Layer> layers = new Array<>();
+
+    private final Color layerTint = new Color();
+
+    public Parallax(Entity entity) {
+        super(entity);
+        setLayer(RenderQueue.Layer.BACKGROUND);
+    }
+
+    public Layer add(TextureRegion region, float factorX, float factorY) {
+        var layer = new Layer(region, factorX, factorY);
+        layers.add(layer);
+        return layer;
+    }
+
+    /**
+     * Add a layer from a Tiled image layer, keeping its placement, parallax factors and opacity.
+     * The region is shared with the map, so layers using the same image share a texture.
+     */
+    public Layer add(TiledMapImageLayer imageLayer) {
+        return add(imageLayer.getTextureRegion(), imageLayer.getParallaxX(), imageLayer.getParallaxY())
+            .offset(imageLayer.getX(), imageLayer.getY())
+            .opacity(imageLayer.getOpacity());
+    }
+
+    /**
+     * The shared texture if every layer is cut from the same one, otherwise null
+     */
+    @Override
+    public Texture texture() {
+        if (layers.isEmpty()) return null;
+
+        var texture = layers.get(0).region.getTexture();
+        for (int i = 1; i < layers.size; i++) {
+            if (layers.get(i).region.getTexture() != texture) {
+                return null;
+            }
+        }
+        return texture;
+    }
+
+    /**
+     * Layers cover the whole view, or are already limited to the tiles in it
+     */
+    @Override
+    public boolean cullable() {
+        return false;
+    }
+
+    @Override
+    public void render(SpriteBatch batch) {
+        if (layers.isEmpty()) return;
+
+        var state = state();
+        var camera = entity.scene.renderCamera();
+        var viewWidth = camera.viewportWidth * camera.zoom;
+        var viewHeight = camera.viewportHeight * camera.zoom;
+        var viewX = camera.position.x - viewWidth / 2f;
+        var viewY = camera.position.y - viewHeight / 2f;
+
+        for (int i = 0; i < layers.size; i++) {
+            var layer = layers.get(i);
+            if (layer.opacity <= 0f) continue;
+
+            // shift by the part of the camera movement the layer doesn't follow
+            var originX = state.x + layer.offsetX + viewX * (1f - layer.factorX);
+            var originY = state.y + layer.offsetY + viewY * (1f - layer.factorY);
+            var color = layerTint.set(state.tint).mul(1f, 1f, 1f, layer.opacity).toFloatBits();
+
+            if (!layer.built || changed(layer.builtFrom, viewX, viewY, viewWidth, viewHeight, originX, originY, color)) {
+                build(layer, viewX, viewY, viewWidth, viewHeight, originX, originY, color);
+            }
+            if (layer.vertexCount > 0) {
+                batch.draw(layer.region.getTexture(), layer.vertices, 0, layer.vertexCount);
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Implementation
+    // ------------------------------------------------------------------------
+
+    private static boolean changed(float[] key, float viewX, float viewY, float viewWidth, float viewHeight,
+                                   float originX, float originY, float color) {
+        return key[0] != viewX || key[1] != viewY || key[2] != viewWidth || key[3] != viewHeight
+            || key[4] != originX || key[5] != originY || key[6] != color;
+    }
+
+    /**
+     * Write a quad for each tile of the layer that overlaps the view
+     */
+    private static void build(Layer layer, float viewX, float viewY, float viewWidth, float viewHeight,
+                              float originX, float originY, float color) {
+        var key = layer.builtFrom;
+        key[0] = viewX;
+        key[1] = viewY;
+        key[2] = viewWidth;
+        key[3] = viewHeight;
+        key[4] = originX;
+        key[5] = originY;
+        key[6] = color;
+        layer.built = true;
+        layer.vertexCount = 0;
+
+        var region = layer.region;
+        var tileWidth = region.getRegionWidth();
+        var tileHeight = region.getRegionHeight();
+        if (tileWidth <= 0 || tileHeight <= 0) return;
+
+        // first tile and tile count on each axis, a single tile at the origin on axes that don't repeat
+        float startX = originX;
+        float startY = originY;
+        int cols = 1;
+        int rows = 1;
+        if (layer.repeatX) {
+            startX = originX + (float) Math.floor((viewX - originX) / tileWidth) * tileWidth;
+            cols = (int) Math.ceil((viewX + viewWidth - startX) / tileWidth);
+        } else if (originX + tileWidth < viewX || originX > viewX + viewWidth) {
+            return;
+        }
+        if (layer.repeatY) {
+            startY = originY + (float) Math.floor((viewY - originY) / tileHeight) * tileHeight;
+            rows = (int) Math.ceil((viewY + viewHeight - startY) / tileHeight);
+        } else if (originY + tileHeight < viewY || originY > viewY + viewHeight) {
+            return;
+        }
+        if (cols <= 0 || rows <= 0) return;
+
+        int needed = cols * rows * QUAD_SIZE;
+        if (layer.vertices.length < needed) {
+            layer.vertices = new float[needed];
+        }
+
+        var u = region.getU();
+        var v = region.getV2();
+        var u2 = region.getU2();
+        var v2 = region.getV();
+        var verts = layer.vertices;
+        int idx = 0;
+        for (int row = 0; row < rows; row++) {
+            var y1 = startY + row * tileHeight;
+            var y2 = y1 + tileHeight;
+            for (int col = 0; col < cols; col++) {
+                var x1 = startX + col * tileWidth;
+                var x2 = x1 + tileWidth;
+                verts[idx++] = x1; verts[idx++] = y1; verts[idx++] = color; verts[idx++] = u;  verts[idx++] = v;
+                verts[idx++] = x1; verts[idx++] = y2; verts[idx++] = color; verts[idx++] = u;  verts[idx++] = v2;
+                verts[idx++] = x2; verts[idx++] = y2; verts[idx++] = color; verts[idx++] = u2; verts[idx++] = v2;
+                verts[idx++] = x2; verts[idx++] = y1; verts[idx++] = color; verts[idx++] = u2; verts[idx++] = v;
+            }
+        }
+        layer.vertexCount = idx;
+    }
+}
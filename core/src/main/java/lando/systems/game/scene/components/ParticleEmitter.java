@@ -0,0 +1,339 @@
+package lando.systems.game.scene.components;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.NumberUtils;
+import lando.systems.game.scene.framework.Entity;
+import lando.systems.game.scene.framework.families.RenderableComponent;
+import lando.systems.game.scene.render.RenderState;
+
+/**
+ * Fixed capacity particle system drawn as a single textured quad per particle.
+ * <p>
+ * Particle data is kept as a structure of arrays, one preallocated primitive array per attribute,
+ * with live particles packed at the front so every pass is a plain loop over {@code [0, count)}.
+ * Nothing is allocated after construction: spawning writes into the next free slot,
+ * and dead particles are removed by swapping the last live particle into their slot.
+ * <p>
+ * Particles move in world space, independent of the entity {@link Position} once spawned,
+ * which only sets where new particles appear. Each particle interpolates from the start to the end
+ * color and scale over its lifetime. Quad vertices are built once per captured {@link RenderState},
+ * so drawing the whole emitter is one {@link SpriteBatch#draw(Texture, float[], int, int)} call.
+ */
+public class ParticleEmitter extends RenderableComponent {
+
+    private static final int VERTEX_SIZE = 5;
+    private static final int QUAD_SIZE = 4 * VERTEX_SIZE;
+
+    public final int capacity;
+
+    // particle attributes, live particles are at [0, count)
+    private final float[] x;
+    private final float[] y;
+    private final float[] vx;
+    private final float[] vy;
+    private final float[] life;
+    private final float[] invLifetime;
+    private final float[] r;
+    private final float[] g;
+    private final float[] b;
+    private final float[] a;
+    private final float[] scale;
+    private int count;
+
+    /**
+     * Quad vertices and particle bounds as of each captured {@link RenderState}, indexed by snapshot buffer
+     */
+    private final float[][] vertices;
+    private final int[] quads = new int[2];
+    private final Rectangle[] extents = { new Rectangle(), new Rectangle() };
+
+    private final RandomXS128 random = new RandomXS128();
+    private float emitRemainder;
+    private int capturedCount;
+
+    public TextureRegion region;
+
+    /**
+     * Particles spawned per second, 0 to only spawn with {@link #burst}
+     */
+    public float rate = 0f;
+
+    /**
+     * Direction range for initial velocity, in degrees counterclockwise from +x
+     */
+    public float angleMin = 0f;
+    public float angleMax = 360f;
+
+    public float speedMin = 50f;
+    public float speedMax = 100f;
+    public float lifetimeMin = 0.5f;
+    public float lifetimeMax = 1f;
+
+    /**
+     * Random offset from the entity position for new particles, within +/- this distance on each axis
+     */
+    public float spread = 0f;
+
+    /**
+     * Constant acceleration applied to every particle, in units per second squared
+     */
+    public float gravityX = 0f;
+    public float gravityY = 0f;
+
+    /**
+     * Fraction of velocity lost per second
+     */
+    public float drag = 0f;
+
+    public final Color startColor = Color.WHITE.cpy();
+    public final Color endColor = new Color(1, 1, 1, 0);
+    public float startScale = 1f;
+    public float endScale = 1f;
+
+    public ParticleEmitter(Entity entity, TextureRegion region, int capacity) {
+        super(entity);
+        if (capacity <= 0) {
+            throw new GdxRuntimeException("ParticleEmitter capacity must be positive, got %d".formatted(capacity));
+        }
+        this.region = region;
+        this.capacity = capacity;
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.vx = new float[capacity];
+        this.vy = new float[capacity];
+        this.life = new float[capacity];
+        this.invLifetime = new float[capacity];
+        this.r = new float[capacity];
+        this.g = new float[capacity];
+        this.b = new float[capacity];
+        this.a = new float[capacity];
+        this.scale = new float[capacity];
+        this.vertices = new float[][] { new float[capacity * QUAD_SIZE], new float[capacity * QUAD_SIZE] };
+        this.size.set(region.getRegionWidth(), region.getRegionHeight());
+    }
+
+    /**
+     * Restart the random sequence used for new particles, so the same seed and timing spawn the same particles
+     */
+    public void seed(long seed) {
+        random.setSeed(seed);
+    }
+
+    /**
+     * @return the number of live particles
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Remove all live particles
+     */
+    public void clear() {
+        count = 0;
+        emitRemainder = 0;
+    }
+
+    /**
+     * Spawn up to the specified number of particles right away, limited by free capacity
+     *
+     * @return the number of particles actually spawned
+     */
+    public int burst(int amount) {
+        var position = entity.getIfActive(Position.class);
+        var originX = (position != null) ? position.x() : 0f;
+        var originY = (position != null) ? position.y() : 0f;
+
+        int spawned = Math.min(amount, capacity - count);
+        for (int n = 0; n < spawned; n++) {
+            int i = count++;
+            var angle = MathUtils.degRad * (angleMin + random.nextFloat() * (angleMax - angleMin));
+            var speed = speedMin + random.nextFloat() * (speedMax - speedMin);
+            var lifetime = lifetimeMin + random.nextFloat() * (lifetimeMax - lifetimeMin);
+            x[i] = originX + (random.nextFloat() * 2f - 1f) * spread;
+            y[i] = originY + (random.nextFloat() * 2f - 1f) * spread;
+            vx[i] = MathUtils.cos(angle) * speed;
+            vy[i] = MathUtils.sin(angle) * speed;
+            life[i] = lifetime;
+            invLifetime[i] = (lifetime > 0) ? 1f / lifetime : 0f;
+            r[i] = startColor.r;
+            g[i] = startColor.g;
+            b[i] = startColor.b;
+            a[i] = startColor.a;
+            scale[i] = startScale;
+        }
+        return spawned;
+    }
+
+    @Override
+    public void update(float dt) {
+        super.update(dt);
+
+        // each pass is a branch free loop over parallel arrays, so the JIT can vectorize it
+        int n = count;
+        var ax = gravityX * dt;
+        var ay = gravityY * dt;
+        var damping = Math.max(0f, 1f - drag * dt);
+        for (int i = 0; i < n; i++) {
+            vx[i] = (vx[i] + ax) * damping;
+            vy[i] = (vy[i] + ay) * damping;
+        }
+        for (int i = 0; i < n; i++) {
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+        }
+        for (int i = 0; i < n; i++) {
+            life[i] -= dt;
+        }
+
+        // interpolate color and scale by elapsed fraction of each particle's lifetime,
+        // with the endpoints in locals so the loop body doesn't read through any objects
+        var r0 = startColor.r;
+        var g0 = startColor.g;
+        var b0 = startColor.b;
+        var a0 = startColor.a;
+        var s0 = startScale;
+        var dr = endColor.r - r0;
+        var dg = endColor.g - g0;
+        var db = endColor.b - b0;
+        var da = endColor.a - a0;
+        var ds = endScale - s0;
+        for (int i = 0; i < n; i++) {
+            var t = Math.min(1f, 1f - life[i] * invLifetime[i]);
+            r[i] = r0 + dr * t;
+            g[i] = g0 + dg * t;
+            b[i] = b0 + db * t;
+            a[i] = a0 + da * t;
+            scale[i] = s0 + ds * t;
+        }
+
+        removeDead();
+
+        if (rate > 0) {
+            emitRemainder += rate * dt;
+            int amount = (int) emitRemainder;
+            emitRemainder -= amount;
+            burst(amount);
+        }
+
+        // live particles move every update, and the last capture with any needs to be cleared
+        if (count > 0 || capturedCount > 0) {
+            markDirty();
+        }
+    }
+
+    @Override
+    public Texture texture() {
+        return (region != null) ? region.getTexture() : null;
+    }
+
+    @Override
+    public Rectangle bounds(Rectangle out) {
+        return out.set(extents[state().buffer]);
+    }
+
+    @Override
+    protected void captureState(RenderState state) {
+        var buffer = state.buffer;
+        var verts = vertices[buffer];
+        var bounds = extents[buffer];
+        // live particles move every update, and the last capture with any needs to be cleared
+        if (count > 0 || capturedCount > 0) {
+            markChanged();
+        }
+        capturedCount = count;
+        if (count == 0 || region == null) {
+            quads[buffer] = 0;
+            bounds.set(state.x, state.y, 0, 0);
+            return;
+        }
+
+        var u = region.getU();
+        var v = region.getV2();
+        var u2 = region.getU2();
+        var v2 = region.getV();
+        var halfWidth = size.x / 2f;
+        var halfHeight = size.y / 2f;
+        var minX = Float.MAX_VALUE;
+        var minY = Float.MAX_VALUE;
+        var maxX = -Float.MAX_VALUE;
+        var maxY = -Float.MAX_VALUE;
+
+        int idx = 0;
+        for (int i = 0; i < count; i++) {
+            var w = halfWidth * scale[i];
+            var h = halfHeight * scale[i];
+            var x1 = x[i] - w;
+            var y1 = y[i] - h;
+            var x2 = x[i] + w;
+            var y2 = y[i] + h;
+            var color = packColor(r[i], g[i], b[i], a[i]);
+
+            verts[idx++] = x1; verts[idx++] = y1; verts[idx++] = color; verts[idx++] = u;  verts[idx++] = v;
+            verts[idx++] = x1; verts[idx++] = y2; verts[idx++] = color; verts[idx++] = u;  verts[idx++] = v2;
+            verts[idx++] = x2; verts[idx++] = y2; verts[idx++] = color; verts[idx++] = u2; verts[idx++] = v2;
+            verts[idx++] = x2; verts[idx++] = y1; verts[idx++] = color; verts[idx++] = u2; verts[idx++] = v;
+
+            minX = Math.min(minX, x1);
+            minY = Math.min(minY, y1);
+            maxX = Math.max(maxX, x2);
+            maxY = Math.max(maxY, y2);
+        }
+        bounds.set(minX, minY, maxX - minX, maxY - minY);
+        quads[buffer] = count;
+    }
+
+    @Override
+    public void render(SpriteBatch batch) {
+        var state = state();
+        int quadCount = quads[state.buffer];
+        if (quadCount == 0) return;
+
+        batch.draw(region.getTexture(), vertices[state.buffer], 0, quadCount * QUAD_SIZE);
+    }
+
+    // ------------------------------------------------------------------------
+    // Implementation
+    // ------------------------------------------------------------------------
+
+    /**
+     * Swap the last live particle into each dead particle's slot, so live ones stay packed at the front
+     */
+    private void removeDead() {
+        int i = 0;
+        while (i < count) {
+            if (life[i] > 0) {
+                i++;
+                continue;
+            }
+
+            int last = --count;
+            x[i] = x[last];
+            y[i] = y[last];
+            vx[i] = vx[last];
+            vy[i] = vy[last];
+            life[i] = life[last];
+            invLifetime[i] = invLifetime[last];
+            r[i] = r[last];
+            g[i] = g[last];
+            b[i] = b[last];
+            a[i] = a[last];
+            scale[i] = scale[last];
+        }
+    }
+
+    /**
+     * Same packing as {@link Color#toFloatBits(float, float, float, float)}, without the range checks
+     */
+    private static float packColor(float r, float g, float b, float a) {
+        int bits = ((int) (255 * a) << 24) | ((int) (255 * b) << 16) | ((int) (255 * g) << 8) | (int) (255 * r);
+        return NumberUtils.intToFloatColor(bits);
+    }
+}
@@ -1,19 +1,41 @@
 package lando.systems.game.scene.components;
 
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.NinePatch;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import lando.systems.game.assets.PatchSlices;
 import lando.systems.game.assets.Patches;
 import lando.systems.game.math.Calc;
 import lando.systems.game.scene.framework.Entity;
 import lando.systems.game.scene.framework.families.RenderableComponent;
+import lando.systems.game.scene.render.RenderState;
 import lando.systems.game.utils.Util;
 
+/**
+ * Draws a {@link NinePatch} stretched over the component's draw rectangle.
+ * <p>
+ * Patches created from a {@link Patches.Type} have {@link PatchSlices} and keep their vertices between frames,
+ * one set per captured {@link RenderState}, rebuilt only when the renderable's {@link #version()} changes.
+ * Otherwise, eg. a patch set directly, it's drawn through {@link NinePatch#draw} every frame.
+ */
 public class Patch extends RenderableComponent {
 
     public NinePatch patch;
 
+    /**
+     * Geometry for {@link #patch}, used to build cached vertices when set
+     */
+    public PatchSlices slices;
+
+    // cached vertices and what they were built from, indexed by snapshot buffer
+    private final float[][] vertices = new float[2][];
+    private final int[] vertexCounts = new int[2];
+    private final int[] builtVersions = { -1, -1 };
+    private final PatchSlices[] builtSlices = new PatchSlices[2];
+
     public Patch(Entity entity, Patches.Type patchType) {
         this(entity, entity.scene.screen.assets.get(Patches.class, patchType));
+        this.slices = Patches.slices(patchType);
     }
 
     public Patch(Entity entity, NinePatch patch) {
@@ -24,12 +46,44 @@ public class Patch extends RenderableComponent {
         this.size.set(maxSize, maxSize);
     }
 
+    @Override
+    public Texture texture() {
+        return (patch != null) ? patch.getTexture() : null;
+    }
+
+    @Override
+    protected void captureState(RenderState state) {
+        if (slices == null) return;
+
+        var buffer = state.buffer;
+        if (builtSlices[buffer] == slices && builtVersions[buffer] == state.version) {
+            return;
+        }
+
+        var x = state.x - state.originX * state.scaleX;
+        var y = state.y - state.originY * state.scaleY;
+        var width = state.width * state.scaleX;
+        var height = state.height * state.scaleY;
+        if (vertices[buffer] == null) {
+            vertices[buffer] = new float[PatchSlices.MAX_VERTICES];
+        }
+        vertexCounts[buffer] = slices.vertices(vertices[buffer], x, y, width, height, state.packedTint);
+        builtSlices[buffer] = slices;
+        builtVersions[buffer] = state.version;
+    }
+
     @Override
     public void render(SpriteBatch batch) {
         if (patch == null) return;
 
+        var state = state();
+        if (slices != null && builtSlices[state.buffer] == slices) {
+            batch.draw(slices.texture, vertices[state.buffer], 0, vertexCounts[state.buffer]);
+            return;
+        }
+
         var rect = obtainPooledRectBounds();
-        Util.draw(batch, patch, rect, tint);
+        Util.draw(batch, patch, rect, state.tint);
         Util.free(rect);
     }
 }
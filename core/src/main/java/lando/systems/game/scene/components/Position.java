@@ -7,6 +7,10 @@ import lando.systems.game.scene.framework.Entity;
 
 public final class Position extends Component {
 
+    /**
+     * Prefer the setters over changing this directly, they also mark the entity's renderables dirty
+     * and refresh its collider in the broadphase, otherwise call {@link #changed} once done changing it
+     */
     public final PointF2 value;
 
     public Position(Entity entity) {
@@ -45,34 +49,52 @@ public final class Position extends Component {
 
     public Position set(float x, float y) {
         value.set(x, y);
+        changed();
         return this;
     }
 
     public Position set(int x, int y) {
         value.set(x, y);
+        changed();
         return this;
     }
 
     public Position set(Vector2 value) {
         this.value.set(value);
+        changed();
         return this;
     }
 
     public Position zero() {
         value.set(0, 0);
+        changed();
         return this;
     }
 
     public Position move(float x, float y) {
         value.add(x, y);
+        changed();
         return this;
     }
 
     public Position move(int x, int y) {
-        return move(x, y);
+        return move((float) x, (float) y);
     }
 
     public Position move(Vector2 value) {
         return move(value.x, value.y);
     }
+
+    /**
+     * Keep what's derived from the position in step with it: the entity's renderables get captured again,
+     * and its collider's broadphase cells are refreshed so queries later in the same tick see where it is now.
+     * The setters call this, call it directly after a series of changes to {@link #value} to only pay for it once.
+     */
+    public void changed() {
+        entity.markRenderablesDirty();
+        var collider = entity.get(Collider.class);
+        if (collider != null) {
+            entity.scene.world.colliders.refresh(collider);
+        }
+    }
 }
@@ -0,0 +1,544 @@
+package lando.systems.game.scene.components;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import lando.systems.game.math.Calc;
+import lando.systems.game.scene.framework.Entity;
+import lando.systems.game.scene.framework.Simulation;
+import lando.systems.game.scene.framework.families.RenderableComponent;
+import lando.systems.game.scene.maps.MapChunkSource;
+import lando.systems.game.scene.render.RenderQueue;
+import lando.systems.game.scene.render.RenderState;
+import lando.systems.game.scene.render.TileChunkCache;
+import lando.systems.game.utils.Callbacks;
+import lando.systems.game.utils.Util;
+
+import java.util.List;
+
+/**
+ * Tilemap that keeps only the chunks near the camera resident, for maps too big to load in one go.
+ * Each chunk is {@link TileChunkCache#CHUNK_TILES} tiles square.
+ * <ul>
+ *     <li>
+ *         map metadata is read from a {@link MapChunkSource} on a background thread,
+ *         then tileset textures are created on the GL thread and a {@link Collider.GridShape}
+ *         for the collision layer during update, after which {@link #onReady} runs and {@link #ready()} returns true
+ *     </li>
+ *     <li>
+ *         chunks within {@code loadRadius} chunks of the camera view are read and turned into
+ *         vertex data on the background thread, then installed a few per update:
+ *         their tiles are marked in the grid collider and they start drawing
+ *     </li>
+ *     <li>
+ *         chunks further than {@code unloadRadius} from the view are dropped and their collider
+ *         tiles cleared, the gap between the two radii keeps chunks at the edge from thrashing
+ *     </li>
+ * </ul>
+ * Chunk vertices are built in world space from the entity {@link Position} at the time each chunk
+ * is requested, so the map is expected to stay put once streaming starts.
+ */
+public class StreamingTilemap extends RenderableComponent implements Disposable {
+
+    private static final String TAG = StreamingTilemap.class.getSimpleName();
+
+    public static final int CHUNK_TILES = TileChunkCache.CHUNK_TILES;
+
+    /**
+     * Limit on chunks installed per update, so a burst of finished loads doesn't cause a hitch
+     */
+    private static final int MAX_INSTALLS_PER_UPDATE = 4;
+
+    /**
+     * Layers with this name provide collision only and aren't drawn, same as {@link Tilemap}
+     */
+    private static final String HIDDEN_LAYER = "solid";
+
+    /**
+     * Vertices for consecutive tiles of a chunk layer that share a texture
+     */
+    private record Run(Texture texture, float[] vertices) {}
+
+    private static final class Chunk {
+        final int cx, cy;
+        final int x, y, w, h;
+        AsyncResult<Chunk> pending;
+        boolean installed;
+
+        /**
+         * Built on the loader thread; runs per layer, and solid flags for the collision layer (if any)
+         */
+        Array<Run>[] runs;
+        boolean[] solid;
+
+        Chunk(int cx, int cy, int cols, int rows) {
+            this.cx = cx;
+            this.cy = cy;
+            this.x = cx * CHUNK_TILES;
+            this.y = cy * CHUNK_TILES;
+            this.w = Math.min(CHUNK_TILES, cols - x);
+            this.h = Math.min(CHUNK_TILES, rows - y);
+        }
+    }
+
+    private final MapChunkSource source;
+    private final String collisionLayerName;
+    private final AsyncExecutor executor;
+    private final LongMap<Chunk> chunks = new LongMap<>();
+    private final Array<Chunk> installed = new Array<>();
+    private final LongArray dropped = new LongArray();
+    private final Array<Texture> textures = new Array<>();
+    private final Rectangle view = new Rectangle();
+
+    /**
+     * View as of the last time this was marked dirty, and whether chunks in view were installed or dropped since
+     */
+    private final Rectangle dirtyView = new Rectangle();
+    private boolean drawnChanged;
+
+    /**
+     * Installed chunks in view as of each captured {@link RenderState}, indexed by snapshot buffer
+     */
+    @SuppressWarnings("unchecked")
+    private final Array<Chunk>[] drawn = new Array[] { new Array<Chunk>(), new Array<Chunk>() };
+
+    private AsyncResult<MapChunkSource.Header> opening;
+    private MapChunkSource.Header opened;
+    private MapChunkSource.Header header;
+    private MapChunkSource.Header capturedHeader;
+    private volatile TextureRegion[] regionsByGid;
+    private Collider collider;
+    private int collisionLayer = -1;
+
+    public final OrthographicCamera camera;
+    public final int loadRadius;
+    public final int unloadRadius;
+
+    /**
+     * Runs during update once the map metadata and tileset textures are loaded and the collider exists
+     */
+    public Callbacks.NoArg onReady;
+
+    /**
+     * @param source             where to read map data from
+     * @param collisionLayerName tile layer used to build the grid collider, or null for no collider
+     * @param camera             chunks are loaded around this camera's view
+     * @param loadRadius         chunks within this many chunks of the view are loaded
+     * @param unloadRadius       chunks beyond this many chunks from the view are unloaded, must exceed loadRadius
+     */
+    public StreamingTilemap(Entity entity, MapChunkSource source, String collisionLayerName,
+                            OrthographicCamera camera, int loadRadius, int unloadRadius) {
+        super(entity);
+        if (loadRadius < 0 || unloadRadius <= loadRadius) {
+            throw new GdxRuntimeException("StreamingTilemap requires 0 <= loadRadius < unloadRadius, got %d and %d"
+                .formatted(loadRadius, unloadRadius));
+        }
+        this.source = source;
+        this.collisionLayerName = collisionLayerName;
+        this.camera = camera;
+        this.loadRadius = loadRadius;
+        this.unloadRadius = unloadRadius;
+        this.executor = new AsyncExecutor(1, TAG);
+        this.opening = executor.submit(source::open);
+        setLayer(RenderQueue.Layer.BACKGROUND);
+    }
+
+    public boolean ready() {
+        return header != null;
+    }
+
+    public MapChunkSource.Header header() {
+        return header;
+    }
+
+    public Collider collider() {
+        return collider;
+    }
+
+    public int installedChunks() {
+        return installed.size;
+    }
+
+    public int pendingChunks() {
+        return chunks.size - installed.size;
+    }
+
+    /**
+     * Release tileset textures and stop the loader thread, called when the component is destroyed
+     */
+    @Override
+    public void dispose() {
+        executor.dispose();
+        textures.forEach(Texture::dispose);
+        textures.clear();
+    }
+
+    @Override
+    public void update(float dt) {
+        super.update(dt);
+
+        if (header == null) {
+            if (opened == null) {
+                if (!opening.isDone()) return;
+                var opened = opening.get();
+                opening = null;
+                this.opened = opened;
+
+                // textures can only be created on the GL thread, which this isn't if the scene's simulation thread is running
+                Simulation.runOnRenderThread(() -> loadTilesets(opened));
+            }
+            if (regionsByGid == null) return;
+            setup(opened);
+        }
+
+        updateView();
+        requestChunksInRange();
+        dropChunksOutOfRange();
+        installFinishedChunks();
+
+        // the chunks drawn depend on the view, which can move without this entity moving,
+        // only capture again once it crosses into other chunks or chunks in it come and go
+        if (drawnChanged || !view.equals(dirtyView)) {
+            dirtyView.set(view);
+            drawnChanged = false;
+            markDirty();
+        }
+    }
+
+    @Override
+    public Rectangle bounds(Rectangle out) {
+        var position = entity.getIfActive(Position.class);
+        var x = (position != null) ? position.x() : 0f;
+        var y = (position != null) ? position.y() : 0f;
+        if (header == null) {
+            return out.set(x, y, 0, 0);
+        }
+        return out.set(x, y, header.cols() * header.tileSize(), header.rows() * header.tileSize());
+    }
+
+    @Override
+    protected void captureState(RenderState state) {
+        var chunks = drawn[state.buffer];
+        chunks.clear();
+        if (header != capturedHeader) {
+            // bounds come from the header
+            capturedHeader = header;
+            markChanged();
+        }
+        if (header == null) return;
+
+        for (int i = 0; i < installed.size; i++) {
+            var chunk = installed.get(i);
+            if (distanceToView(chunk.cx, chunk.cy) == 0) {
+                chunks.add(chunk);
+            }
+        }
+    }
+
+    @Override
+    public void render(SpriteBatch batch) {
+        var chunks = drawn[state().buffer];
+        if (chunks.isEmpty()) return;
+
+        var layers = header.layers();
+        for (int layer = 0; layer < layers.size(); layer++) {
+            if (!isDrawn(layers.get(layer))) continue;
+
+            for (int i = 0; i < chunks.size; i++) {
+                var chunk = chunks.get(i);
+                var runs = chunk.runs[layer];
+                for (int r = 0; r < runs.size; r++) {
+                    var run = runs.get(r);
+                    batch.draw(run.texture, run.vertices, 0, run.vertices.length);
+                }
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Implementation
+    // ------------------------------------------------------------------------
+
+    /**
+     * Create tileset textures and the regions for each gid of a newly opened map, on the GL thread
+     */
+    private void loadTilesets(MapChunkSource.Header header) {
+        var maxGid = 0;
+        for (var tileset : header.tilesets()) {
+            maxGid = Math.max(maxGid, tileset.firstGid() + tileset.tileCount());
+        }
+
+        var regions = new TextureRegion[maxGid + 1];
+        for (var tileset : header.tilesets()) {
+            var texture = new Texture(Gdx.files.internal(tileset.imagePath()));
+            textures.add(texture);
+            for (int id = 0; id < tileset.tileCount(); id++) {
+                int col = id % tileset.columns();
+                int row = id / tileset.columns();
+                int x = tileset.margin() + col * (tileset.tileWidth() + tileset.spacing());
+                int y = tileset.margin() + row * (tileset.tileHeight() + tileset.spacing());
+                regions[tileset.firstGid() + id] = new TextureRegion(texture, x, y, tileset.tileWidth(), tileset.tileHeight());
+            }
+        }
+
+        // publish the regions last, update waits on them
+        regionsByGid = regions;
+    }
+
+    /**
+     * Create the collider for a newly opened map once its tilesets are loaded, during update
+     */
+    private void setup(MapChunkSource.Header header) {
+        if (collisionLayerName != null) {
+            collisionLayer = header.layerIndex(collisionLayerName);
+            if (collisionLayer == -1) {
+                Util.log(TAG, "collision layer '%s' not found, no collider created".formatted(collisionLayerName));
+            } else {
+                collider = Collider.makeGrid(entity, Collider.Mask.solid, header.tileSize(), header.cols(), header.rows());
+            }
+        }
+        drawnChanged = true;
+
+        // publish the header last, chunk requests read the regions through it
+        this.header = header;
+        if (onReady != null) {
+            onReady.run();
+        }
+    }
+
+    /**
+     * Get the camera view in chunk coordinates, stored in {@link #view} as min/max corners
+     */
+    private void updateView() {
+        var position = entity.getIfActive(Position.class);
+        var x = (position != null) ? position.x() : 0f;
+        var y = (position != null) ? position.y() : 0f;
+        var chunkSize = (float) CHUNK_TILES * header.tileSize();
+        var halfWidth  = camera.viewportWidth  * camera.zoom / 2f;
+        var halfHeight = camera.viewportHeight * camera.zoom / 2f;
+
+        // x, y hold the min chunk coords, width and height hold the max chunk coords
+        view.set(
+            Calc.floor((camera.position.x - halfWidth  - x) / chunkSize),
+            Calc.floor((camera.position.y - halfHeight - y) / chunkSize),
+            Calc.floor((camera.position.x + halfWidth  - x) / chunkSize),
+            Calc.floor((camera.position.y + halfHeight - y) / chunkSize));
+    }
+
+    /**
+     * @return distance in chunks from the specified chunk to the nearest chunk in the view, 0 if it's in view
+     */
+    private int distanceToView(int cx, int cy) {
+        int dx = (int) Math.max(0, Math.max(view.x - cx, cx - view.width));
+        int dy = (int) Math.max(0, Math.max(view.y - cy, cy - view.height));
+        return Math.max(dx, dy);
+    }
+
+    private void requestChunksInRange() {
+        int chunkCols = (int) Calc.ceiling(header.cols() / (float) CHUNK_TILES);
+        int chunkRows = (int) Calc.ceiling(header.rows() / (float) CHUNK_TILES);
+        int minX = Calc.clampInt((int) view.x - loadRadius, 0, chunkCols - 1);
+        int minY = Calc.clampInt((int) view.y - loadRadius, 0, chunkRows - 1);
+        int maxX = Calc.clampInt((int) view.width + loadRadius, 0, chunkCols - 1);
+        int maxY = Calc.clampInt((int) view.height + loadRadius, 0, chunkRows - 1);
+
+        var position = entity.getIfActive(Position.class);
+        var originX = (position != null) ? position.x() : 0f;
+        var originY = (position != null) ? position.y() : 0f;
+
+        for (int cy = minY; cy <= maxY; cy++) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                var key = key(cx, cy);
+                if (chunks.containsKey(key)) continue;
+
+                var chunk = new Chunk(cx, cy, header.cols(), header.rows());
+                var layers = header.layers();
+                var tileSize = header.tileSize();
+                var regions = regionsByGid;
+                var solidLayer = (collider != null) ? collisionLayer : -1;
+                chunk.pending = executor.submit(() -> build(chunk, layers, solidLayer, tileSize, regions, originX, originY));
+                chunks.put(key, chunk);
+            }
+        }
+    }
+
+    private void dropChunksOutOfRange() {
+        dropped.clear();
+        for (var entry : chunks) {
+            var chunk = entry.value;
+            if (distanceToView(chunk.cx, chunk.cy) > unloadRadius) {
+                dropped.add(entry.key);
+            }
+        }
+
+        // chunks still loading are dropped too, their result is ignored when it arrives
+        for (int i = 0; i < dropped.size; i++) {
+            var chunk = chunks.remove(dropped.get(i));
+            if (chunk.installed) {
+                uninstall(chunk);
+            }
+        }
+    }
+
+    private void installFinishedChunks() {
+        int count = 0;
+        for (var entry : chunks) {
+            if (count >= MAX_INSTALLS_PER_UPDATE) break;
+
+            var chunk = entry.value;
+            if (chunk.installed || !chunk.pending.isDone()) continue;
+
+            chunk.pending.get();
+            chunk.pending = null;
+            install(chunk);
+            count++;
+        }
+    }
+
+    private void install(Chunk chunk) {
+        if (chunk.solid != null) {
+            var grid = collider.shape(Collider.GridShape.class);
+            for (int y = 0; y < chunk.h; y++) {
+                for (int x = 0; x < chunk.w; x++) {
+                    grid.set(chunk.x + x, chunk.y + y, chunk.solid[x + y * chunk.w]);
+                }
+            }
+        }
+        chunk.installed = true;
+        installed.add(chunk);
+        if (distanceToView(chunk.cx, chunk.cy) == 0) {
+            drawnChanged = true;
+        }
+    }
+
+    private void uninstall(Chunk chunk) {
+        if (chunk.solid != null) {
+            var grid = collider.shape(Collider.GridShape.class);
+            for (int y = 0; y < chunk.h; y++) {
+                for (int x = 0; x < chunk.w; x++) {
+                    grid.set(chunk.x + x, chunk.y + y, false);
+                }
+            }
+        }
+        chunk.installed = false;
+        installed.removeValue(chunk, true);
+        if (distanceToView(chunk.cx, chunk.cy) == 0) {
+            drawnChanged = true;
+        }
+    }
+
+    /**
+     * Read a chunk's tiles and build its vertex data, runs on the loader thread
+     */
+    @SuppressWarnings("unchecked")
+    private Chunk build(Chunk chunk, List<MapChunkSource.Layer> layers, int solidLayer, int tileSize,
+                        TextureRegion[] regions, float originX, float originY) {
+        var gids = new int[chunk.w * chunk.h];
+        var vertices = new FloatArray();
+        chunk.runs = new Array[layers.size()];
+
+        for (int layer = 0; layer < layers.size(); layer++) {
+            var info = layers.get(layer);
+            var runs = new Array<Run>(false, 2);
+            chunk.runs[layer] = runs;
+            if (layer != solidLayer && !isDrawn(info)) continue;
+
+            source.read(layer, chunk.x, chunk.y, chunk.w, chunk.h, gids);
+
+            if (layer == solidLayer) {
+                chunk.solid = new boolean[gids.length];
+                for (int i = 0; i < gids.length; i++) {
+                    chunk.solid[i] = (gids[i] != 0);
+                }
+            }
+
+            if (!isDrawn(info)) continue;
+
+            // layer opacity goes in the vertex color, the same tint TileChunkCache gives a baked layer
+            var color = Color.toFloatBits(1f, 1f, 1f, info.opacity());
+            Texture texture = null;
+            vertices.clear();
+            for (int y = 0; y < chunk.h; y++) {
+                for (int x = 0; x < chunk.w; x++) {
+                    var gid = gids[x + y * chunk.w];
+                    var id = gid & MapChunkSource.GID_MASK;
+                    if (id == 0 || id >= regions.length || regions[id] == null) continue;
+
+                    var region = regions[id];
+                    if (region.getTexture() != texture) {
+                        if (texture != null) {
+                            runs.add(new Run(texture, vertices.toArray()));
+                            vertices.clear();
+                        }
+                        texture = region.getTexture();
+                    }
+                    var px = originX + (chunk.x + x) * tileSize;
+                    var py = originY + (chunk.y + y) * tileSize;
+                    addTile(vertices, region, gid, px, py, color);
+                }
+            }
+            if (texture != null) {
+                runs.add(new Run(texture, vertices.toArray()));
+            }
+        }
+        return chunk;
+    }
+
+    private static boolean isDrawn(MapChunkSource.Layer layer) {
+        return layer.visible() && !layer.name().equals(HIDDEN_LAYER);
+    }
+
+    /**
+     * Append a tile quad in {@link SpriteBatch} vertex order, applying Tiled's flip flags to the texture coords.
+     * Public so the headless {@code TileFlipCheck} can compare it against {@code OrthogonalTiledMapRenderer}.
+     */
+    public static void addTile(FloatArray out, TextureRegion region, int gid, float x, float y, float color) {
+        var x2 = x + region.getRegionWidth();
+        var y2 = y + region.getRegionHeight();
+
+        // corners: bottom left, top left, top right, bottom right
+        float u1 = region.getU(),  v1 = region.getV2();
+        float u2 = region.getU(),  v2 = region.getV();
+        float u3 = region.getU2(), v3 = region.getV();
+        float u4 = region.getU2(), v4 = region.getV2();
+
+        // tiled applies the diagonal flip first, a transpose that keeps top left and bottom right in place
+        if ((gid & MapChunkSource.FLIP_DIAGONAL) != 0) {
+            float u = u1; u1 = u3; u3 = u;
+            float v = v1; v1 = v3; v3 = v;
+        }
+        if ((gid & MapChunkSource.FLIP_HORIZONTAL) != 0) {
+            float u = u1; u1 = u4; u4 = u;
+            u = u2; u2 = u3; u3 = u;
+            float v = v1; v1 = v4; v4 = v;
+            v = v2; v2 = v3; v3 = v;
+        }
+        if ((gid & MapChunkSource.FLIP_VERTICAL) != 0) {
+            float u = u1; u1 = u2; u2 = u;
+            u = u3; u3 = u4; u4 = u;
+            float v = v1; v1 = v2; v2 = v;
+            v = v3; v3 = v4; v4 = v;
+        }
+
+        out.addAll(x,  y,  color, u1, v1);
+        out.addAll(x,  y2, color, u2, v2);
+        out.addAll(x2, y2, color, u3, v3);
+        out.addAll(x2, y,  color, u4, v4);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+}
@@ -3,17 +3,23 @@ package lando.systems.game.scene.components;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.tiled.*;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import lando.systems.game.scene.framework.Entity;
 import lando.systems.game.scene.framework.families.RenderableComponent;
+import lando.systems.game.scene.maps.BinaryMap;
+import lando.systems.game.scene.render.RenderQueue;
+import lando.systems.game.scene.render.TileChunkCache;
+import lando.systems.game.utils.Util;
 
 import java.util.List;
 import java.util.stream.StreamSupport;
 
-public class Tilemap extends RenderableComponent {
+public class Tilemap extends RenderableComponent implements Disposable {
 
     private static final float UNIT_SCALE = 1f;
     private static final TmxMapLoader.Parameters params = new TmxMapLoader.Parameters() {{
@@ -30,6 +36,11 @@ public class Tilemap extends RenderableComponent {
     //  less important if there's only ever one Tilemap component in a Scene like Squatch
     public final TiledMapRenderer renderer;
 
+    /**
+     * Static tile layers baked into chunks at load time, layers it can't bake still go through the {@link #renderer}
+     */
+    public final TileChunkCache chunks;
+
     public final TiledMap map;
     public final int cols;
     public final int rows;
@@ -37,16 +48,35 @@ public class Tilemap extends RenderableComponent {
 
     public OrthographicCamera camera;
 
+    /**
+     * Draws the image layers instead of this tilemap once set, see {@link #makeParallax}
+     */
+    private Parallax parallax;
+
     public Tilemap(Entity entity, String tmxFilePath, OrthographicCamera camera, SpriteBatch batch) {
+        this(entity, (new TmxMapLoader()).load(tmxFilePath, params), camera, batch);
+    }
+
+    /**
+     * Create from a map compiled by the headless {@code MapCompiler}, skipping the tmx parse entirely,
+     * see {@link BinaryMap#toTiledMap} for what the compiled map leaves out
+     */
+    public Tilemap(Entity entity, BinaryMap compiled, OrthographicCamera camera, SpriteBatch batch) {
+        this(entity, compiled.toTiledMap(params), camera, batch);
+    }
+
+    private Tilemap(Entity entity, TiledMap map, OrthographicCamera camera, SpriteBatch batch) {
         super(entity);
         this.camera = camera;
-        this.map = (new TmxMapLoader()).load(tmxFilePath, params);
+        this.map = map;
         this.renderer = new OrthogonalTiledMapRenderer(map, UNIT_SCALE, batch);
+        setLayer(RenderQueue.Layer.BACKGROUND);
 
         // TODO(brian): refactor, this is very squatch-map-specific currently
         this.layers = StreamSupport.stream(map.getLayers().spliterator(), false)
             .filter(layer -> !layer.getName().equals("solid"))
             .filter(layer -> layer instanceof TiledMapTileLayer)
+            .filter(MapLayer::isVisible)
             .map(TiledMapTileLayer.class::cast)
             .toList();
 
@@ -61,6 +91,8 @@ public class Tilemap extends RenderableComponent {
         this.cols = props.get("width", Integer.class);
         this.rows = props.get("height", Integer.class);
         this.tileSize = props.get("tilewidth", Integer.class);
+
+        this.chunks = new TileChunkCache(layers, tileSize, cols, rows);
     }
 
     public Collider makeGridCollider(String layerName) {
@@ -84,6 +116,21 @@ public class Tilemap extends RenderableComponent {
         return new Boundary(entity, bounds);
     }
 
+    /**
+     * Hand the map's image layers to a {@link Parallax} component, which scrolls them by their parallax factors
+     * and tiles them horizontally, drawn behind the tile layers. This tilemap stops drawing them itself.
+     */
+    public Parallax makeParallax() {
+        if (parallax == null) {
+            parallax = new Parallax(entity);
+            parallax.setZ(z() - 1);
+            for (var layer : imageLayers) {
+                parallax.add(layer);
+            }
+        }
+        return parallax;
+    }
+
     public Rectangle calcBounds() {
         var pos = entity.get(Position.class);
         var x = (pos != null) ? pos.x() : 0f;
@@ -91,26 +138,71 @@ public class Tilemap extends RenderableComponent {
         return bounds.set(x, y, cols * tileSize, rows * tileSize);
     }
 
+    @Override
+    public Rectangle bounds(Rectangle out) {
+        return out.set(calcBounds());
+    }
+
     @Override
     public void render(SpriteBatch batch) {
         if (map == null) return;
-        var pos = entity.get(Position.class);
-        var x = (pos != null) ? pos.x() : 0f;
-        var y = (pos != null) ? pos.y() : 0f;
+        var state = state();
+        var x = state.x;
+        var y = state.y;
 
+        var camera = entity.scene.renderCamera();
         renderer.setView(camera);
 
         // TODO(brian): assumes all image layers are 'background'
-        for (var layer : imageLayers) {
-            layer.setOffsetX(x);
-            layer.setOffsetY(-y);
-            renderer.renderImageLayer(layer);
+        if (parallax == null) {
+            for (var layer : imageLayers) {
+                layer.setOffsetX(x);
+                layer.setOffsetY(-y);
+                renderer.renderImageLayer(layer);
+            }
         }
 
-        for (var layer : layers) {
-            layer.setOffsetX(x);
-            layer.setOffsetY(-y);
-            renderer.renderTileLayer(layer);
+        // baked layers draw from the chunk cache, which uses its own shader,
+        // so the batch is paused for each run of consecutive baked layers
+        var view = Util.rect.obtain().set(
+            camera.position.x - camera.viewportWidth  * camera.zoom / 2f - x,
+            camera.position.y - camera.viewportHeight * camera.zoom / 2f - y,
+            camera.viewportWidth  * camera.zoom,
+            camera.viewportHeight * camera.zoom);
+        var drawingChunks = false;
+        for (int i = 0; i < layers.size(); i++) {
+            var layer = layers.get(i);
+            if (chunks.isBaked(i)) {
+                if (!drawingChunks) {
+                    batch.end();
+                    chunks.begin(camera.combined, x, y);
+                    drawingChunks = true;
+                }
+                chunks.draw(i, view);
+            } else {
+                if (drawingChunks) {
+                    chunks.end();
+                    batch.begin();
+                    drawingChunks = false;
+                }
+                layer.setOffsetX(x);
+                layer.setOffsetY(-y);
+                renderer.renderTileLayer(layer);
+            }
+        }
+        if (drawingChunks) {
+            chunks.end();
+            batch.begin();
         }
+        Util.free(view);
+    }
+
+    /**
+     * Releases the baked chunks and the map's tileset textures, called when the component is destroyed
+     */
+    @Override
+    public void dispose() {
+        chunks.dispose();
+        map.dispose();
     }
 }
@@ -0,0 +1,138 @@
+package lando.systems.game.scene.components;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectSet;
+import lando.systems.game.scene.framework.Component;
+import lando.systems.game.scene.framework.Entity;
+import lando.systems.game.scene.spatial.ColliderIndex;
+import lando.systems.game.utils.Callbacks;
+
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Non-blocking rectangular area (checkpoint, damage zone, camera region) that reports
+ * when colliders start and stop overlapping it. Unlike a {@link Collider}, a trigger
+ * is never seen by {@link Mover} so it can't stop movement.
+ * <p>
+ * Triggers don't poll in their own {@link #update}, instead all triggers in a
+ * {@link lando.systems.game.scene.framework.World} are evaluated together against
+ * the {@link ColliderIndex} broadphase once per tick, see {@link #evaluate}.
+ */
+public class Trigger extends Component {
+
+    public record Event(Trigger trigger, Collider other) implements Callbacks.TypedArg.Params {}
+
+    /**
+     * Specifies which {@link Collider.Mask} types this trigger reacts to,
+     * defaults to {@link Collider.Mask#player} and {@link Collider.Mask#npc}
+     */
+    private final EnumSet<Collider.Mask> reactsTo = EnumSet.of(Collider.Mask.player, Collider.Mask.npc);
+
+    /**
+     * Colliders overlapping this trigger as of the last evaluation, and scratch space for the next one
+     */
+    private ObjectSet<Collider> inside = new ObjectSet<>();
+    private ObjectSet<Collider> nextInside = new ObjectSet<>();
+
+    /**
+     * Area relative to the entity's {@link Position}, if it has one
+     */
+    public final Rectangle rect;
+
+    public Callbacks.TypedArg<Event> onEnter;
+    public Callbacks.TypedArg<Event> onExit;
+
+    public Trigger(Entity entity, float x, float y, float w, float h) {
+        super(entity);
+        this.rect = new Rectangle(x, y, w, h);
+        this.onEnter = null;
+        this.onExit = null;
+    }
+
+    public void setReactsTo(Collider.Mask... masks) {
+        reactsTo.clear();
+        reactsTo.addAll(List.of(masks));
+    }
+
+    public boolean contains(Collider collider) {
+        return inside.contains(collider);
+    }
+
+    public int count() {
+        return inside.size;
+    }
+
+    /**
+     * Set the specified rectangle to the world space bounds of this trigger
+     */
+    public Rectangle bounds(Rectangle out) {
+        var position = entity.getIfActive(Position.class);
+        var x = (position != null) ? position.x() : 0f;
+        var y = (position != null) ? position.y() : 0f;
+        return out.set(rect.x + x, rect.y + y, rect.width, rect.height);
+    }
+
+    // ------------------------------------------------------------------------
+    // Batched evaluation
+    // ------------------------------------------------------------------------
+
+    private static final Array<Collider> candidates = new Array<>();
+    private static final Rectangle area = new Rectangle();
+
+    /**
+     * Evaluate every trigger against the broadphase in a single pass,
+     * running enter callbacks for newly overlapping colliders and exit callbacks
+     * for colliders that no longer overlap (including ones that were destroyed or deactivated).
+     * Inactive triggers report exits for everything they contained.
+     */
+    public static void evaluate(Array<Trigger> triggers, ColliderIndex colliders) {
+        if (triggers.isEmpty()) return;
+
+        // bring dynamic colliders up to date once for the whole pass
+        colliders.update();
+
+        for (int i = 0; i < triggers.size; i++) {
+            var trigger = triggers.get(i);
+            var next = trigger.nextInside;
+            next.clear();
+
+            if (trigger.active) {
+                candidates.clear();
+                colliders.query(trigger.bounds(area), candidates);
+                for (int j = 0; j < candidates.size; j++) {
+                    var other = candidates.get(j);
+                    if (other.inactive()) continue;
+                    if (!trigger.reactsTo.contains(other.mask)) continue;
+
+                    if (Collider.overlaps(area, other)) {
+                        next.add(other);
+                    }
+                }
+            }
+
+            // swap current and next sets before running callbacks,
+            // so callbacks see the updated state through contains() and count()
+            var prev = trigger.inside;
+            trigger.inside = next;
+            trigger.nextInside = prev;
+
+            if (trigger.onExit != null) {
+                for (var other : prev) {
+                    if (!next.contains(other)) {
+                        trigger.onExit.run(new Event(trigger, other));
+                    }
+                }
+            }
+            if (trigger.onEnter != null) {
+                for (var other : next) {
+                    if (!prev.contains(other)) {
+                        trigger.onEnter.run(new Event(trigger, other));
+                    }
+                }
+            }
+        }
+        candidates.clear();
+    }
+}
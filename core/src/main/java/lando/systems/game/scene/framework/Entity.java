@@ -3,6 +3,7 @@ package lando.systems.game.scene.framework;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import lando.systems.game.scene.Scene;
+import lando.systems.game.scene.framework.families.RenderableComponent;
 import lando.systems.game.screens.BaseScreen;
 import lando.systems.game.utils.Util;
 
@@ -98,6 +99,20 @@ public class Entity {
         return null;
     }
 
+    /**
+     * Mark every renderable attached to this entity dirty, eg. after the entity moved,
+     * see {@link RenderableComponent#markDirty}
+     */
+    public void markRenderablesDirty() {
+        componentsByClass.forEach(Entity::markDirty);
+    }
+
+    private static void markDirty(Class<? extends Component> clazz, Component component) {
+        if (component instanceof RenderableComponent renderable) {
+            renderable.markDirty();
+        }
+    }
+
     /**
      * Attach the specified component to this entity in the slot reserved for
      * the specified component type, unless a component of that type is already attached.
@@ -0,0 +1,358 @@
+package lando.systems.game.scene.framework;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import lando.systems.game.scene.Scene;
+import lando.systems.game.scene.framework.families.RenderableComponent;
+import lando.systems.game.scene.render.RenderState;
+import lando.systems.game.utils.Util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Optionally runs a {@link Scene}'s {@link World} updates on a dedicated thread at a fixed tick rate,
+ * so simulation and rendering overlap instead of taking turns on the GL thread.
+ * <p>
+ * After each batch of ticks the simulation thread captures the world camera, and the {@link RenderState}
+ * of every renderable marked dirty since that buffer was last written, into one of two snapshot buffers
+ * and publishes it. The GL thread picks up the newest published snapshot at the start of each frame
+ * and draws only from it, so it never reads a value the simulation is in the middle of writing:
+ * <ul>
+ *     <li>the simulation always writes the buffer the GL thread isn't drawing from</li>
+ *     <li>a snapshot the GL thread hasn't picked up yet is simply overwritten by a newer one</li>
+ *     <li>neither thread ever waits on the other, the GL thread redraws its current snapshot until there's a new one</li>
+ * </ul>
+ * While running, the simulation thread owns the world, its components and the world camera:
+ * <ul>
+ *     <li>
+ *         code on the GL thread (eg. screen input handling) that creates, changes or destroys
+ *         entities should {@link #post} it to run between ticks
+ *     </li>
+ *     <li>
+ *         components must not touch GL objects during update, use {@link #runOnRenderThread} for that,
+ *         and components that create GL resources should be constructed before the simulation is started
+ *     </li>
+ * </ul>
+ * Pauses on the GL thread (hitstop, frame stepping) skip {@link Scene#update}, which the simulation thread never sees,
+ * so they have to be passed along with {@link #setPaused} and {@link #step}.
+ */
+public class Simulation {
+
+    private static final String TAG = Simulation.class.getSimpleName();
+
+    public static final float DEFAULT_STEP = 1 / 60f;
+
+    /**
+     * Upper bound on the time simulated per wake up, so a long stall (eg. a breakpoint)
+     * doesn't turn into a burst of catch-up ticks
+     */
+    private static final float MAX_FRAME_TIME = 0.25f;
+
+    private static final ThreadLocal<Simulation> current = new ThreadLocal<>();
+
+    /**
+     * Renderables and camera values captured after a tick
+     */
+    public static final class Snapshot {
+        public final int buffer;
+        public final Array<RenderableComponent> renderables = new Array<>();
+        public long tick;
+        public float cameraX;
+        public float cameraY;
+        public float cameraZoom;
+        public float viewportWidth;
+        public float viewportHeight;
+
+        private Snapshot(int buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Set the specified camera to the captured camera values
+         */
+        public OrthographicCamera apply(OrthographicCamera camera) {
+            camera.viewportWidth = viewportWidth;
+            camera.viewportHeight = viewportHeight;
+            camera.zoom = cameraZoom;
+            camera.position.set(cameraX, cameraY, 0);
+            camera.update();
+            return camera;
+        }
+    }
+
+    private final Scene<?> scene;
+    private final Snapshot[] snapshots = { new Snapshot(0), new Snapshot(1) };
+    private final Array<Runnable> tasks = new Array<>();
+    private final Array<Runnable> running = new Array<>();
+    private final Object lock = new Object();
+
+    /**
+     * Guarded by {@link #lock}; the buffer the GL thread is drawing from,
+     * and the newest published buffer it hasn't picked up yet, -1 if none
+     */
+    private int front = -1;
+    private int ready = -1;
+
+    private Thread thread;
+    private volatile boolean active;
+    private volatile Throwable failure;
+    private volatile boolean paused;
+    private final AtomicInteger steps = new AtomicInteger();
+    private long ticks;
+
+    /**
+     * Fixed simulated time per tick, in seconds
+     */
+    public float step = DEFAULT_STEP;
+
+    public Simulation(Scene<?> scene) {
+        this.scene = scene;
+    }
+
+    /**
+     * @return true if a simulation thread is currently updating the scene
+     */
+    public boolean isRunning() {
+        return active;
+    }
+
+    /**
+     * @return true if the calling thread is a simulation thread
+     */
+    public static boolean isSimulationThread() {
+        return current.get() != null;
+    }
+
+    /**
+     * Run the specified task on the GL thread; right away if that's the calling thread,
+     * otherwise at the start of the next frame
+     */
+    public static void runOnRenderThread(Runnable task) {
+        if (isSimulationThread()) {
+            Gdx.app.postRunnable(task);
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * Hold the simulation still, on the GL thread. While paused no time accumulates,
+     * the simulation thread only ticks once for each {@link #step} requested.
+     */
+    public void setPaused(boolean paused) {
+        if (!paused) {
+            steps.set(0);
+        }
+        this.paused = paused;
+    }
+
+    /**
+     * Tick once while paused, on the GL thread
+     */
+    public void step() {
+        if (active && paused) {
+            steps.incrementAndGet();
+        }
+    }
+
+    /**
+     * Run the specified task before the next tick if the simulation thread is running, otherwise right away
+     */
+    public void post(Runnable task) {
+        if (!active || isSimulationThread()) {
+            task.run();
+            return;
+        }
+        synchronized (tasks) {
+            tasks.add(task);
+        }
+    }
+
+    /**
+     * Start updating the scene on a simulation thread, on the GL thread.
+     * The first snapshot is captured right away so there's always something to draw.
+     */
+    public void start() {
+        if (active) return;
+
+        synchronized (lock) {
+            front = -1;
+            ready = -1;
+        }
+        steps.set(0);
+        publish();
+        scene.renderQueue.setSynced(true);
+
+        active = true;
+        thread = new Thread(this::run, TAG);
+        thread.setDaemon(true);
+        thread.start();
+        Util.log(TAG, "started, step %.4fs".formatted(step));
+    }
+
+    /**
+     * Stop the simulation thread and wait for it to finish its current tick, on the GL thread.
+     * Updates go back to the GL thread through {@link Scene#update} from the next frame on.
+     */
+    public void stop() {
+        if (!active) return;
+
+        active = false;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+
+        // anything posted after the last tick still has to happen
+        runTasks();
+
+        // catch the queue up with anything added, moved or removed since the last picked up snapshot,
+        // and the culler, which only hears about changes made on the GL thread from here on
+        scene.world.drainDirty(null);
+        scene.culler.invalidate();
+        var renderables = scene.world.getFamily(RenderableComponent.class);
+        for (int i = 0; i < renderables.size; i++) {
+            var renderable = renderables.get(i);
+            renderable.capture(0);
+            renderable.useState(0);
+        }
+        var renderQueue = scene.renderQueue;
+        var removed = new Array<RenderableComponent>();
+        renderQueue.setSynced(false);
+        renderQueue.sync(renderables, removed);
+        for (int i = 0; i < removed.size; i++) {
+            scene.release(removed.get(i));
+        }
+        Util.log(TAG, "stopped after %d ticks".formatted(ticks));
+    }
+
+    /**
+     * Pick up the newest published snapshot if there is one, on the GL thread
+     *
+     * @return the newly published snapshot, or null if the current one is still the newest
+     */
+    public Snapshot acquire() {
+        if (failure != null) {
+            throw new GdxRuntimeException("Simulation thread failed", failure);
+        }
+        synchronized (lock) {
+            if (ready == -1) return null;
+            front = ready;
+            ready = -1;
+            return snapshots[front];
+        }
+    }
+
+    /**
+     * @return the snapshot the GL thread is currently drawing from, null before the first {@link #acquire}
+     */
+    public Snapshot current() {
+        synchronized (lock) {
+            return (front == -1) ? null : snapshots[front];
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Simulation thread
+    // ------------------------------------------------------------------------
+
+    private void run() {
+        current.set(this);
+        try {
+            var previous = System.nanoTime();
+            var accumulator = 0f;
+            while (active) {
+                var now = System.nanoTime();
+                var elapsed = Math.min((now - previous) / 1e9f, MAX_FRAME_TIME);
+                previous = now;
+
+                runTasks();
+
+                var stepped = false;
+                if (paused) {
+                    // time spent paused is dropped rather than caught up on afterwards
+                    for (int i = steps.getAndSet(0); i > 0; i--) {
+                        scene.world.update(step);
+                        ticks++;
+                        stepped = true;
+                    }
+                } else {
+                    accumulator += elapsed;
+                    while (accumulator >= step) {
+                        scene.world.update(step);
+                        accumulator -= step;
+                        ticks++;
+                        stepped = true;
+                    }
+                }
+
+                if (stepped) {
+                    publish();
+                } else {
+                    LockSupport.parkNanos((long) ((step - accumulator) * 1e9f));
+                }
+            }
+        } catch (Throwable t) {
+            // surfaced on the GL thread by the next acquire, which keeps happening since this still counts as running
+            Util.log(TAG, "simulation thread failed: %s".formatted(t));
+            failure = t;
+        } finally {
+            current.remove();
+        }
+    }
+
+    private void runTasks() {
+        synchronized (tasks) {
+            running.addAll(tasks);
+            tasks.clear();
+        }
+        for (int i = 0; i < running.size; i++) {
+            running.get(i).run();
+        }
+        running.clear();
+    }
+
+    /**
+     * Capture the scene into the buffer the GL thread isn't drawing from, then make it the newest snapshot
+     */
+    private void publish() {
+        int back;
+        synchronized (lock) {
+            back = (front == 0) ? 1 : 0;
+            if (ready == back) {
+                // not picked up yet, it's about to be replaced by a newer one anyway
+                ready = -1;
+            }
+        }
+
+        var snapshot = snapshots[back];
+        snapshot.tick = ticks;
+        snapshot.renderables.clear();
+        // each buffer tracks its own captures, so the dirty list itself isn't needed here
+        scene.world.drainDirty(null);
+        var renderables = scene.world.getFamily(RenderableComponent.class);
+        for (int i = 0; i < renderables.size; i++) {
+            var renderable = renderables.get(i);
+            if (!renderable.isCaptured(back)) {
+                renderable.capture(back);
+            }
+            snapshot.renderables.add(renderable);
+        }
+
+        var camera = scene.screen.worldCamera;
+        snapshot.cameraX = camera.position.x;
+        snapshot.cameraY = camera.position.y;
+        snapshot.cameraZoom = camera.zoom;
+        snapshot.viewportWidth = camera.viewportWidth;
+        snapshot.viewportHeight = camera.viewportHeight;
+
+        synchronized (lock) {
+            ready = back;
+        }
+    }
+}
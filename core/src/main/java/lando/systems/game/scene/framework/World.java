@@ -1,9 +1,13 @@
 package lando.systems.game.scene.framework;
 
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.IntMap;
 import lando.systems.game.scene.Scene;
+import lando.systems.game.scene.components.Collider;
+import lando.systems.game.scene.components.Trigger;
 import lando.systems.game.scene.framework.families.RenderableComponent;
+import lando.systems.game.scene.spatial.ColliderIndex;
 import lando.systems.game.screens.BaseScreen;
 import lando.systems.game.utils.Util;
 
@@ -26,6 +30,11 @@ public class World<ScreenType extends BaseScreen> {
 
     public final Scene<ScreenType> scene;
 
+    /**
+     * Broadphase for {@link Collider} queries, kept in sync as colliders are added and destroyed
+     */
+    public final ColliderIndex colliders = new ColliderIndex();
+
     // ------------------------------------------------------------------------
     // Internal collections
     // ------------------------------------------------------------------------
@@ -35,6 +44,13 @@ public class World<ScreenType extends BaseScreen> {
     private final Map<Class<? extends Component>, Array<? extends Component>> componentsByClass = new HashMap<>();
     private final Map<Class<? extends ComponentFamily>, Array<? extends Component>> componentsByFamilyClass = new HashMap<>();
 
+    /**
+     * Renderables marked dirty since they were last handed out by {@link #drainDirty}
+     */
+    private final Array<RenderableComponent> dirtyRenderables = new Array<>();
+
+    private long ticks;
+
     public World(Scene<ScreenType> scene) {
         this.scene = scene;
     }
@@ -43,6 +59,9 @@ public class World<ScreenType extends BaseScreen> {
      * Updates all active components
      */
     public void update(float dt) {
+        ticks++;
+        colliders.update();
+
         for (var clazz : componentClasses) {
             var components = getComponents(clazz);
             for (var component : components) {
@@ -51,6 +70,16 @@ public class World<ScreenType extends BaseScreen> {
                 }
             }
         }
+
+        // check all triggers against the collider broadphase in one pass, after things have moved
+        Trigger.evaluate(getComponents(Trigger.class), colliders);
+    }
+
+    /**
+     * @return the number of updates so far, for things that should happen at most once per update
+     */
+    public long ticks() {
+        return ticks;
     }
 
     // ------------------------------------------------------------------------
@@ -110,9 +139,9 @@ public class World<ScreenType extends BaseScreen> {
      */
     public void clear() {
         Util.log(TAG, "Destroying all entities and their attached components!");
-        for (int i = entitiesById.size - 1; i >= 0; i--) {
-            var entity = entitiesById.get(i);
-            destroy(entity);
+        var entities = entitiesById.values().toArray();
+        for (int i = entities.size - 1; i >= 0; i--) {
+            destroy(entities.get(i));
         }
         entitiesById.clear();
     }
@@ -172,6 +201,15 @@ public class World<ScreenType extends BaseScreen> {
         if (component instanceof RenderableComponent renderable) {
             var components = getFamily(RenderableComponent.class);
             components.add(renderable);
+            scene.renderQueue.add(renderable);
+            // new renderables haven't been captured yet
+            renderable.world = this;
+            renderable.markDirty();
+        }
+
+        // index colliders for broadphase queries
+        if (component instanceof Collider collider) {
+            colliders.add(collider);
         }
 
         // add by type
@@ -213,11 +251,62 @@ public class World<ScreenType extends BaseScreen> {
         if (component instanceof RenderableComponent renderable) {
             var components = getFamily(RenderableComponent.class);
             components.removeValue(renderable, true);
+            scene.renderQueue.remove(renderable);
+            renderable.world = null;
+            if (renderable.dirty) {
+                renderable.dirty = false;
+                dirtyRenderables.removeValue(renderable, true);
+            }
+            // the culler belongs to the GL thread, which drops destroyed renderables itself while the simulation runs
+            if (!scene.simulation.isRunning()) {
+                scene.culler.remove(renderable);
+            }
+        }
+
+        // remove colliders from the broadphase
+        if (component instanceof Collider collider) {
+            colliders.remove(collider);
         }
 
         // remove by type
         var components = getComponents(clazz);
         components.removeValue(clazz.cast(component), true);
+
+        // release anything the component owns (eg. textures and caches), on the GL thread;
+        // while the simulation runs, a renderable may still be in the snapshot being drawn,
+        // so the GL thread releases those itself once it drops them, see Scene.release()
+        if (component instanceof Disposable disposable) {
+            if (!scene.simulation.isRunning()) {
+                disposable.dispose();
+            } else if (!(component instanceof RenderableComponent)) {
+                Simulation.runOnRenderThread(disposable::dispose);
+            }
+        }
+    }
+
+    /**
+     * Queue the specified renderable to be captured, see {@link RenderableComponent#markDirty}
+     */
+    public void markDirty(RenderableComponent renderable) {
+        if (renderable.dirty) return;
+        renderable.dirty = true;
+        dirtyRenderables.add(renderable);
+    }
+
+    /**
+     * Hand out the renderables marked dirty since the last call, on whichever thread updates the world
+     *
+     * @param out the array to add them to, or null to just clear them (eg. when capturing everything anyway)
+     */
+    public void drainDirty(Array<RenderableComponent> out) {
+        for (int i = 0; i < dirtyRenderables.size; i++) {
+            var renderable = dirtyRenderables.get(i);
+            renderable.dirty = false;
+            if (out != null) {
+                out.add(renderable);
+            }
+        }
+        dirtyRenderables.clear();
     }
 
     // ------------------------------------------------------------------------
@@ -1,7 +1,9 @@
 package lando.systems.game.scene.framework.families;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import lando.systems.game.math.Calc;
@@ -9,6 +11,11 @@ import lando.systems.game.scene.Scene;
 import lando.systems.game.scene.components.Position;
 import lando.systems.game.scene.framework.ComponentFamily;
 import lando.systems.game.scene.framework.Entity;
+import lando.systems.game.scene.framework.Simulation;
+import lando.systems.game.scene.framework.World;
+import lando.systems.game.scene.render.RenderQueue;
+import lando.systems.game.scene.render.RenderState;
+import lando.systems.game.scene.spatial.RenderCuller;
 import lando.systems.game.utils.Util;
 import space.earlygrey.shapedrawer.ShapeDrawer;
 
@@ -21,6 +28,85 @@ public abstract class RenderableComponent extends ComponentFamily {
     public final Vector2 scale = defaultScale.cpy();
     public final float scaleReturnSpeed = 4f;
 
+    /**
+     * Coarse draw order, see {@link RenderQueue.Layer}
+     */
+    private RenderQueue.Layer layer = RenderQueue.Layer.WORLD;
+
+    /**
+     * Draw order within a layer, higher z-indices are drawn on top of lower ones
+     */
+    private int z = 0;
+
+    /**
+     * Fine draw order within a z-index, lower depths are drawn first
+     */
+    public float depth = 0f;
+
+    /**
+     * Packed draw order key within a z-index, set by {@link RenderQueue} each frame
+     */
+    public long sortKey;
+
+    /**
+     * Frame id of the most recent frame this renderable passed culling, set by {@link RenderCuller}
+     */
+    public long visibleFrame = -1;
+
+    /**
+     * Bookkeeping owned by {@link RenderQueue}, null until the renderable is first drawn
+     */
+    public RenderQueue.Bucket bucket;
+    public int bucketIndex = -1;
+
+    /**
+     * Id of the most recent {@link RenderQueue#sync} that listed this renderable, set by {@link RenderQueue}
+     */
+    public long syncId = -1;
+
+    /**
+     * Bookkeeping owned by {@link RenderQueue}, the texture and shader in the current {@link #sortKey} and their ids
+     */
+    public Texture keyTexture;
+    public ShaderProgram keyShader;
+    public int keyTextureId;
+    public int keyShaderId;
+
+    /**
+     * One captured state per snapshot buffer, see {@link Simulation}
+     */
+    private final RenderState[] states = { new RenderState(0), new RenderState(1) };
+
+    /**
+     * The captured state to draw from, selected on the GL thread each frame
+     */
+    private RenderState drawState;
+
+    /**
+     * Bookkeeping owned by {@link RenderCuller}, the {@link RenderState#version} last written to its spatial index
+     */
+    public int indexedVersion = -1;
+
+    /**
+     * Bookkeeping owned by {@link World}, the world this renderable was added to (null once destroyed),
+     * and whether it's waiting in that world's dirty list, see {@link #markDirty}.
+     * NOTE: no initializers, these are set during the {@code Component} constructor
+     */
+    public World<?> world;
+    public boolean dirty;
+
+    // dirty tracking, the number of markDirty calls and how many of them each snapshot buffer has captured
+    private int changes;
+    private final int[] capturedChanges = { -1, -1 };
+
+    // change tracking, counted on whichever thread captures, see #capture
+    private RenderState lastCaptured;
+    private int positionVersion;
+    private int sizeVersion;
+    private int scaleVersion;
+    private int tintVersion;
+    private int version;
+
     public RenderableComponent(Entity entity) {
         super(entity);
     }
@@ -29,18 +115,257 @@ public abstract class RenderableComponent extends ComponentFamily {
         super(scene);
     }
 
+    public RenderQueue.Layer layer() {
+        return layer;
+    }
+
+    public int z() {
+        return z;
+    }
+
+    /**
+     * The captured values to draw with this frame, renderables should draw from these rather than
+     * from their live fields, which may be changing on a {@link Simulation} thread in the meantime
+     */
+    public RenderState state() {
+        return (drawState != null) ? drawState : capture(0);
+    }
+
+    /**
+     * @return true if the state for the specified snapshot buffer was captured after the most recent {@link #markDirty}
+     */
+    public boolean isCaptured(int buffer) {
+        return capturedChanges[buffer] == changes;
+    }
+
+    /**
+     * Copy the live values into the state for the specified snapshot buffer,
+     * on whichever thread updates this renderable
+     */
+    public final RenderState capture(int buffer) {
+        // before anything else, so a markDirty from captureState leaves this renderable dirty
+        capturedChanges[buffer] = changes;
+
+        var position = entity.getIfActive(Position.class);
+        var x = (position != null) ? position.x() : 0f;
+        var y = (position != null) ? position.y() : 0f;
+        var packedTint = tint.toFloatBits();
+
+        // compare against the previous capture, which may be this same state or the other buffer's
+        var last = lastCaptured;
+        if (last == null || last.x != x || last.y != y) {
+            positionVersion++;
+            version++;
+        }
+        if (last == null || last.width != size.x || last.height != size.y
+         || last.originX != origin.x || last.originY != origin.y) {
+            sizeVersion++;
+            version++;
+        }
+        if (last == null || last.scaleX != scale.x || last.scaleY != scale.y) {
+            scaleVersion++;
+            version++;
+        }
+        if (last == null || last.packedTint != packedTint) {
+            tintVersion++;
+            version++;
+        }
+
+        var state = states[buffer];
+        state.x = x;
+        state.y = y;
+        state.width = size.x;
+        state.height = size.y;
+        state.originX = origin.x;
+        state.originY = origin.y;
+        state.scaleX = scale.x;
+        state.scaleY = scale.y;
+        state.sortY = sortY();
+        state.tint.set(tint);
+        state.packedTint = packedTint;
+        state.layer = layer;
+        state.z = z;
+        state.version = version;
+        captureState(state);
+        // again, in case captureState marked a change of its own
+        state.version = version;
+        lastCaptured = state;
+        return state;
+    }
+
+    /**
+     * Copy any additional draw values, override this in renderables that draw from
+     * anything beyond the common fields that changes during update (eg. animation frames).
+     * Call {@link #markChanged} from here if any of them changed since the previous capture.
+     */
+    protected void captureState(RenderState state) {
+        // no-op by default
+    }
+
+    // ------------------------------------------------------------------------
+    // Change tracking
+    // ------------------------------------------------------------------------
+
+    /**
+     * Queue this renderable to be captured again. Unchanged renderables keep drawing from their last capture,
+     * so anything that changes a draw value has to call this, on whichever thread updates this renderable.
+     * It's called automatically for {@link Position} changes, layer and z-index changes, and scale returning
+     * to its default. Call it after changing {@link #tint}, {@link #size}, {@link #origin} or {@link #scale}
+     * directly, and from subclasses whenever something they draw from changes.
+     */
+    public void markDirty() {
+        changes++;
+        if (world != null) {
+            world.markDirty(this);
+        }
+    }
+
+    // Versions are bumped during capture when the live values differ from the previous capture,
+    // so unchanged renderables keep the same versions frame after frame and anything derived
+    // from them (cached vertices, spatial index entries) can be reused until a version moves.
+
+    /**
+     * Changes whenever the entity {@link Position} changes
+     */
+    public int positionVersion() {
+        return positionVersion;
+    }
+
+    /**
+     * Changes whenever {@link #size} or {@link #origin} changes
+     */
+    public int sizeVersion() {
+        return sizeVersion;
+    }
+
+    /**
+     * Changes whenever {@link #scale} changes
+     */
+    public int scaleVersion() {
+        return scaleVersion;
+    }
+
+    /**
+     * Changes whenever {@link #tint} changes
+     */
+    public int tintVersion() {
+        return tintVersion;
+    }
+
+    /**
+     * Changes whenever any captured value changes, including anything flagged with {@link #markChanged}
+     */
+    public int version() {
+        return version;
+    }
+
+    /**
+     * Flag a change to draw values that aren't tracked automatically, eg. a different texture or animation frame
+     */
+    protected void markChanged() {
+        version++;
+    }
+
+    /**
+     * Draw from the state for the specified snapshot buffer until told otherwise, on the GL thread
+     */
+    public void useState(int buffer) {
+        drawState = states[buffer];
+    }
+
+    public RenderableComponent setLayer(RenderQueue.Layer layer) {
+        if (this.layer != layer) {
+            this.layer = layer;
+            if (bucket != null) {
+                bucket.queue.move(this);
+            }
+            markDirty();
+        }
+        return this;
+    }
+
+    /**
+     * Change the z-index, moving this renderable to a different bucket without re-sorting anything
+     */
+    public RenderableComponent setZ(int z) {
+        if (this.z != z) {
+            this.z = z;
+            if (bucket != null) {
+                bucket.queue.move(this);
+            }
+            markDirty();
+        }
+        return this;
+    }
+
     @Override
     public void update(float dt) {
+        // most renderables sit at their default scale, skip the approach entirely for them
+        if (scale.x == defaultScale.x && scale.y == defaultScale.y) return;
+
         scale.x = Calc.approach(Calc.abs(scale.x), defaultScale.x, dt * scaleReturnSpeed);
         scale.y = Calc.approach(Calc.abs(scale.y), defaultScale.y, dt * scaleReturnSpeed);
+        markDirty();
     }
 
     public abstract void render(SpriteBatch batch);
 
+    /**
+     * The texture this renderable draws from, used to group draws by texture in the {@link RenderQueue}
+     * so the batch flushes less often. Null if there isn't a single texture.
+     */
+    public Texture texture() {
+        return null;
+    }
+
+    /**
+     * The shader this renderable draws with, or null for the batch's default shader
+     */
+    public ShaderProgram shader() {
+        return null;
+    }
+
     public void render(ShapeDrawer shapes) {
         // default no-op implementation since this is less likely to be used than the SpriteBatch version
     }
 
+    /**
+     * The y coordinate this renderable is ordered by in a y-sorted layer, see {@link RenderQueue#setYSorted}.
+     * Defaults to the entity's position, which is usually where its feet touch the ground.
+     */
+    public float sortY() {
+        var position = entity.getIfActive(Position.class);
+        return (position != null) ? position.y() : 0f;
+    }
+
+    /**
+     * Whether this renderable can be skipped when its {@link #bounds} are outside the camera view.
+     * Renderables that draw outside of their bounds (eg. debug overlays) should return false.
+     */
+    public boolean cullable() {
+        return true;
+    }
+
+    /**
+     * Set the specified rectangle to the world space bounds of this renderable,
+     * normalized to have a non-negative size even if scale is negative (eg. when flipped to face left)
+     *
+     * @param out the {@link Rectangle} to set
+     * @return the output rectangle
+     */
+    public Rectangle bounds(Rectangle out) {
+        state().rect(out);
+        if (out.width < 0) {
+            out.x += out.width;
+            out.width = -out.width;
+        }
+        if (out.height < 0) {
+            out.y += out.height;
+            out.height = -out.height;
+        }
+        return out;
+    }
+
     /**
      * Obtain a {@link Rectangle} from a {@link com.badlogic.gdx.utils.Pool}
      * set to the bounds of this {@link RenderableComponent}.
@@ -49,14 +374,6 @@ public abstract class RenderableComponent extends ComponentFamily {
      * @return the bounds of this renderable
      */
     protected Rectangle obtainPooledRectBounds() {
-        var position = entity.getIfActive(Position.class);
-        var x = (position != null) ? position.x() : 0f;
-        var y = (position != null) ? position.y() : 0f;
-        return Util.rect.obtain().set(
-            x - origin.x * scale.x,
-            y - origin.y * scale.y,
-            size.x * scale.x,
-            size.y * scale.y
-        );
+        return state().rect(Util.rect.obtain());
     }
 }
@@ -0,0 +1,375 @@
+package lando.systems.game.scene.maps;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapImageLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import lando.systems.game.scene.components.Collider;
+import lando.systems.game.scene.framework.Entity;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Read-only view of a map precompiled from a {@code .tmx} file by the headless {@code MapCompiler},
+ * backed by a memory-mapped buffer where the platform allows it.
+ * Nothing is decoded up front except the small header tables; tile and collision data
+ * are read straight out of the buffer on demand.
+ * <p>
+ * Layout, little endian; strings are an int byte count followed by UTF-8 bytes:
+ * <pre>
+ *   header       magic, version, sourceHash, cols, rows, tileSize : int
+ *                sourceCount, tilesetCount, layerCount, imageLayerCount, spawnCount : int
+ *   sources      { path : string }
+ *   tilesets     { firstGid, tileWidth, tileHeight, spacing, margin, columns, tileCount : int, imagePath : string }
+ *   layers       { name : string, visible : int, opacity : float, bytesPerTile, tilesOffset, solidOffset : int }
+ *   imageLayers  { name, imagePath : string, x, y, parallaxX, parallaxY, opacity : float }
+ *   spawns       { name, type : string, x, y, width, height : float, propertyCount : int, { key, value : string } }
+ *   data         per layer: tiles, row by row from the bottom left, padded to 8 bytes;
+ *                then a collision bitset of one bit per tile in the same order, as longs
+ * </pre>
+ * Tiles are stored as 2 byte values when every gid in the layer fits in 13 bits,
+ * with Tiled's three flip flags in the top bits, otherwise as the full 4 byte gid.
+ * Sources are the {@code .tmx} file and the external tilesets and templates it uses,
+ * {@code sourceHash} covers their contents so {@link #isCurrent} can tell when the map was edited after compiling.
+ * Source, tileset image and image layer paths are relative to the directory containing the compiled file.
+ * Image layer positions are y up with the origin at the bottom left, same as {@code TmxMapLoader} places them.
+ */
+public class BinaryMap {
+
+    public static final int MAGIC = 0x50414d47; // "GMAP"
+    public static final int VERSION = 3;
+    public static final String EXTENSION = "gmap";
+
+    /**
+     * Largest gid that fits in a 2 byte tile value alongside the flip flags
+     */
+    public static final int MAX_SHORT_GID = 0x1fff;
+
+    /**
+     * An object from the map's object layers, y up with the origin at the bottom left like libGDX map objects
+     */
+    public record Spawn(String name, String type, float x, float y, float width, float height, Map<String, String> properties) {}
+
+    /**
+     * An image layer, positioned like {@link TiledMapImageLayer}
+     */
+    public record ImageLayer(String name, String imagePath, float x, float y, float parallaxX, float parallaxY, float opacity) {}
+
+    private record Layer(MapChunkSource.Layer info, int bytesPerTile, int tilesOffset, int solidOffset) {}
+
+    private final ByteBuffer buffer;
+    private final List<Layer> layers;
+    private final int sourceHash;
+
+    public final MapChunkSource.Header header;
+    public final List<FileHandle> sources;
+    public final List<ImageLayer> imageLayers;
+    public final List<Spawn> spawns;
+
+    /**
+     * Load a compiled map, mapping the file into memory if it's on the filesystem,
+     * or reading it into a heap buffer if it isn't (eg. packed in a jar)
+     */
+    public static BinaryMap load(FileHandle file) {
+        ByteBuffer buffer;
+        try {
+            buffer = file.map(FileChannel.MapMode.READ_ONLY);
+        } catch (GdxRuntimeException e) {
+            buffer = ByteBuffer.wrap(file.readBytes());
+        }
+        return new BinaryMap(file, buffer.order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    /**
+     * Hash of the contents of the specified files, in order, as stored in the header by the compiler
+     */
+    public static int hash(List<FileHandle> files) {
+        var crc = new CRC32();
+        for (var file : files) {
+            crc.update(file.readBytes());
+        }
+        return (int) crc.getValue();
+    }
+
+    private BinaryMap(FileHandle file, ByteBuffer buffer) {
+        this.buffer = buffer;
+
+        buffer.position(0);
+        var magic = buffer.getInt();
+        var version = buffer.getInt();
+        if (magic != MAGIC || version != VERSION) {
+            throw new GdxRuntimeException("Unable to load map '%s', not a version %d compiled map (magic %08x, version %d)"
+                .formatted(file.path(), VERSION, magic, version));
+        }
+
+        this.sourceHash = buffer.getInt();
+        var cols = buffer.getInt();
+        var rows = buffer.getInt();
+        var tileSize = buffer.getInt();
+        var sourceCount = buffer.getInt();
+        var tilesetCount = buffer.getInt();
+        var layerCount = buffer.getInt();
+        var imageLayerCount = buffer.getInt();
+        var spawnCount = buffer.getInt();
+
+        var sources = new ArrayList<FileHandle>(sourceCount);
+        for (int i = 0; i < sourceCount; i++) {
+            sources.add(TmxChunkSource.resolve(file, readString(buffer)));
+        }
+
+        var tilesets = new ArrayList<MapChunkSource.Tileset>(tilesetCount);
+        for (int i = 0; i < tilesetCount; i++) {
+            var firstGid = buffer.getInt();
+            var tileWidth = buffer.getInt();
+            var tileHeight = buffer.getInt();
+            var spacing = buffer.getInt();
+            var margin = buffer.getInt();
+            var columns = buffer.getInt();
+            var tileCount = buffer.getInt();
+            var imagePath = TmxChunkSource.resolve(file, readString(buffer)).path();
+            tilesets.add(new MapChunkSource.Tileset(firstGid, imagePath, tileWidth, tileHeight, spacing, margin, columns, tileCount));
+        }
+
+        var layerInfos = new ArrayList<MapChunkSource.Layer>(layerCount);
+        this.layers = new ArrayList<>(layerCount);
+        for (int i = 0; i < layerCount; i++) {
+            var info = new MapChunkSource.Layer(readString(buffer), buffer.getInt() != 0, buffer.getFloat());
+            layers.add(new Layer(info, buffer.getInt(), buffer.getInt(), buffer.getInt()));
+            layerInfos.add(info);
+        }
+
+        var imageLayers = new ArrayList<ImageLayer>(imageLayerCount);
+        for (int i = 0; i < imageLayerCount; i++) {
+            var name = readString(buffer);
+            var imagePath = TmxChunkSource.resolve(file, readString(buffer)).path();
+            imageLayers.add(new ImageLayer(name, imagePath,
+                buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat()));
+        }
+
+        var spawns = new ArrayList<Spawn>(spawnCount);
+        for (int i = 0; i < spawnCount; i++) {
+            var name = readString(buffer);
+            var type = readString(buffer);
+            var x = buffer.getFloat();
+            var y = buffer.getFloat();
+            var width = buffer.getFloat();
+            var height = buffer.getFloat();
+            var propertyCount = buffer.getInt();
+            var properties = new LinkedHashMap<String, String>();
+            for (int p = 0; p < propertyCount; p++) {
+                properties.put(readString(buffer), readString(buffer));
+            }
+            spawns.add(new Spawn(name, type, x, y, width, height, Collections.unmodifiableMap(properties)));
+        }
+
+        this.header = new MapChunkSource.Header(cols, rows, tileSize, layerInfos, tilesets);
+        this.sources = Collections.unmodifiableList(sources);
+        this.imageLayers = Collections.unmodifiableList(imageLayers);
+        this.spawns = Collections.unmodifiableList(spawns);
+    }
+
+    /**
+     * Check whether the map sources still match what was compiled, by hashing their current contents.
+     * If a source isn't available (eg. a build that only ships compiled maps) there's nothing newer to compare against,
+     * so the compiled map is considered current.
+     *
+     * @return false if the map or one of its tilesets or templates was changed after this file was compiled
+     */
+    public boolean isCurrent() {
+        for (var source : sources) {
+            if (!source.exists()) return true;
+        }
+        return hash(sources) == sourceHash;
+    }
+
+    /**
+     * @return the gid at the specified tile, including flip flags, 0 if empty
+     */
+    public int gid(int layer, int x, int y) {
+        var info = layers.get(layer);
+        int index = x + y * header.cols();
+        if (info.bytesPerTile == 2) {
+            int value = buffer.getShort(info.tilesOffset + index * 2) & 0xffff;
+            return (value & MAX_SHORT_GID) | ((value & ~MAX_SHORT_GID) << 16);
+        }
+        return buffer.getInt(info.tilesOffset + index * 4);
+    }
+
+    /**
+     * Read the gids of a region of one tile layer, see {@link MapChunkSource#read}
+     */
+    public int[] read(int layer, int x, int y, int w, int h, int[] out) {
+        for (int row = 0; row < h; row++) {
+            for (int col = 0; col < w; col++) {
+                out[col + row * w] = gid(layer, x + col, y + row);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * @return true if the specified tile is non-empty, using the precomputed collision bitset
+     */
+    public boolean solid(int layer, int x, int y) {
+        int index = x + y * header.cols();
+        long word = buffer.getLong(layers.get(layer).solidOffset + (index >>> 6) * 8);
+        return (word & (1L << (index & 63))) != 0;
+    }
+
+    public int layerIndex(String name) {
+        return header.layerIndex(name);
+    }
+
+    /**
+     * Create a grid collider from the precomputed collision bitset of the named layer
+     */
+    public Collider makeGridCollider(Entity entity, String layerName) {
+        var layer = layerIndex(layerName);
+        if (layer == -1) {
+            throw new GdxRuntimeException("Unable to create grid collider, layer '%s' not found".formatted(layerName));
+        }
+
+        var cols = header.cols();
+        var rows = header.rows();
+        var collider = Collider.makeGrid(entity, Collider.Mask.solid, header.tileSize(), cols, rows);
+        var grid = collider.shape(Collider.GridShape.class);
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                grid.tiles[x + y * cols].solid = solid(layer, x, y);
+            }
+        }
+        grid.markChanged();
+        return collider;
+    }
+
+    /**
+     * Build a {@link TiledMap} from the compiled tile and image layers, for drawing with the stock tilemap renderers
+     * without parsing the {@code .tmx} file. Tileset and image textures are created with the texture settings from
+     * the specified loader parameters and owned by the returned map. Call on the GL thread.
+     * <p>
+     * Tiles carry no per-tile offsets or properties and object groups aren't included, see {@link #spawns} for objects.
+     */
+    public TiledMap toTiledMap(TmxMapLoader.Parameters params) {
+        var map = new TiledMap();
+        var textures = new Array<Texture>();
+        var props = map.getProperties();
+        props.put("width", header.cols());
+        props.put("height", header.rows());
+        props.put("tilewidth", header.tileSize());
+        props.put("tileheight", header.tileSize());
+
+        var maxGid = 0;
+        for (var tileset : header.tilesets()) {
+            maxGid = Math.max(maxGid, tileset.firstGid() + tileset.tileCount());
+        }
+        var tiles = new TiledMapTile[maxGid + 1];
+        for (var tileset : header.tilesets()) {
+            var texture = texture(tileset.imagePath(), params, textures);
+            var tileSet = new TiledMapTileSet();
+            tileSet.getProperties().put("firstgid", tileset.firstGid());
+            for (int id = 0; id < tileset.tileCount(); id++) {
+                int col = id % tileset.columns();
+                int row = id / tileset.columns();
+                int x = tileset.margin() + col * (tileset.tileWidth() + tileset.spacing());
+                int y = tileset.margin() + row * (tileset.tileHeight() + tileset.spacing());
+                var tile = new StaticTiledMapTile(new TextureRegion(texture, x, y, tileset.tileWidth(), tileset.tileHeight()));
+                int gid = tileset.firstGid() + id;
+                tile.setId(gid);
+                tileSet.putTile(gid, tile);
+                tiles[gid] = tile;
+            }
+            map.getTileSets().addTileSet(tileSet);
+        }
+
+        for (var image : imageLayers) {
+            var texture = texture(image.imagePath(), params, textures);
+            var layer = new TiledMapImageLayer(new TextureRegion(texture), image.x(), image.y());
+            layer.setName(image.name());
+            layer.setParallaxX(image.parallaxX());
+            layer.setParallaxY(image.parallaxY());
+            layer.setOpacity(image.opacity());
+            map.getLayers().add(layer);
+        }
+
+        var cols = header.cols();
+        var rows = header.rows();
+        for (int i = 0; i < layers.size(); i++) {
+            var info = layers.get(i).info;
+            var layer = new TiledMapTileLayer(cols, rows, header.tileSize(), header.tileSize());
+            layer.setName(info.name());
+            layer.setVisible(info.visible());
+            layer.setOpacity(info.opacity());
+            for (int y = 0; y < rows; y++) {
+                for (int x = 0; x < cols; x++) {
+                    var gid = gid(i, x, y);
+                    var id = gid & MapChunkSource.GID_MASK;
+                    if (id == 0 || id >= tiles.length || tiles[id] == null) continue;
+                    layer.setCell(x, y, cell(gid).setTile(tiles[id]));
+                }
+            }
+            map.getLayers().add(layer);
+        }
+
+        map.setOwnedResources(textures);
+        return map;
+    }
+
+    /**
+     * Create a cell with the flips and rotation that {@code TmxMapLoader} uses for the flip flags in the specified gid
+     */
+    public static TiledMapTileLayer.Cell cell(int gid) {
+        var flipHorizontally = (gid & MapChunkSource.FLIP_HORIZONTAL) != 0;
+        var flipVertically = (gid & MapChunkSource.FLIP_VERTICAL) != 0;
+        var flipDiagonally = (gid & MapChunkSource.FLIP_DIAGONAL) != 0;
+
+        var cell = new TiledMapTileLayer.Cell();
+        if (flipDiagonally) {
+            if (flipHorizontally && flipVertically) {
+                cell.setFlipHorizontally(true);
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            } else if (flipHorizontally) {
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            } else if (flipVertically) {
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_90);
+            } else {
+                cell.setFlipVertically(true);
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            }
+        } else {
+            cell.setFlipHorizontally(flipHorizontally);
+            cell.setFlipVertically(flipVertically);
+        }
+        return cell;
+    }
+
+    private static Texture texture(String path, TmxMapLoader.Parameters params, Array<Texture> textures) {
+        var texture = new Texture(Gdx.files.internal(path), params.generateMipMaps);
+        texture.setFilter(params.textureMinFilter, params.textureMagFilter);
+        textures.add(texture);
+        return texture;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        var bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
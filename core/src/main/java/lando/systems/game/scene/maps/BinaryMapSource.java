@@ -0,0 +1,45 @@
+package lando.systems.game.scene.maps;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * {@link MapChunkSource} backed by a precompiled {@link BinaryMap}, chunks are read
+ * straight out of the mapped file so nothing beyond the header is resident up front
+ */
+public class BinaryMapSource implements MapChunkSource {
+
+    private final FileHandle file;
+    private BinaryMap map;
+
+    public BinaryMapSource(FileHandle file) {
+        this.file = file;
+    }
+
+    /**
+     * Use an already loaded map, {@link #open} just returns its header
+     */
+    public BinaryMapSource(BinaryMap map) {
+        this.file = null;
+        this.map = map;
+    }
+
+    /**
+     * @return the loaded map, null until {@link #open} has been called
+     */
+    public BinaryMap map() {
+        return map;
+    }
+
+    @Override
+    public Header open() {
+        if (map == null) {
+            map = BinaryMap.load(file);
+        }
+        return map.header;
+    }
+
+    @Override
+    public int[] read(int layer, int x, int y, int w, int h, int[] out) {
+        return map.read(layer, x, y, w, h, out);
+    }
+}
@@ -0,0 +1,61 @@
+package lando.systems.game.scene.maps;
+
+import java.util.List;
+
+/**
+ * Provides raw tile data for a map one rectangular region at a time, so a map can be
+ * streamed in around the camera instead of being loaded all at once.
+ * <p>
+ * Both methods are called from a loader thread, never from the GL thread,
+ * so implementations must not create textures or other GL resources.
+ */
+public interface MapChunkSource {
+
+    /**
+     * A tileset laid out as a grid of tiles in a single image
+     */
+    record Tileset(int firstGid, String imagePath, int tileWidth, int tileHeight,
+                   int spacing, int margin, int columns, int tileCount) {}
+
+    /**
+     * A tile layer, hidden layers are still read (eg. for collision) but aren't drawn
+     */
+    record Layer(String name, boolean visible, float opacity) {}
+
+    /**
+     * Map dimensions and the tile layers and tilesets it contains, layers in draw order
+     */
+    record Header(int cols, int rows, int tileSize, List<Layer> layers, List<Tileset> tilesets) {
+        public int layerIndex(String name) {
+            for (int i = 0; i < layers.size(); i++) {
+                if (layers.get(i).name().equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Flag bits that Tiled stores in the high bits of a gid, mask them off with {@link #GID_MASK}
+     */
+    int FLIP_HORIZONTAL = 0x80000000;
+    int FLIP_VERTICAL   = 0x40000000;
+    int FLIP_DIAGONAL   = 0x20000000;
+    int GID_MASK        = ~(FLIP_HORIZONTAL | FLIP_VERTICAL | FLIP_DIAGONAL);
+
+    /**
+     * Prepare the source and read map metadata, called once before any {@link #read} calls
+     */
+    Header open();
+
+    /**
+     * Read the gids (including flip flags, 0 for empty) of a region of one tile layer.
+     * Regions are in tile coordinates with y up, and are clipped by the caller to the map size.
+     *
+     * @param layer index into {@link Header#layers}
+     * @param out   array of at least {@code w * h} entries, filled row by row from the bottom left
+     * @return the output array
+     */
+    int[] read(int layer, int x, int y, int w, int h, int[] out);
+}
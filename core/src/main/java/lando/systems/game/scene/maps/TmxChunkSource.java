@@ -0,0 +1,129 @@
+package lando.systems.game.scene.maps;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.BaseTmxMapLoader;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.XmlReader;
+
+import java.util.ArrayList;
+
+/**
+ * {@link MapChunkSource} that reads a Tiled {@code .tmx} file directly, without building a
+ * {@link com.badlogic.gdx.maps.tiled.TiledMap}. Only gid arrays are kept after {@link #open},
+ * which is far smaller than the cell and tile objects a {@code TiledMap} holds, but the whole
+ * map is still decoded up front since tmx layer data can't be read partially.
+ * <p>
+ * Supports orthogonal, finite maps with tilesets backed by a single image.
+ * Only top level tile layers are read, image layers and object groups are ignored.
+ */
+public class TmxChunkSource implements MapChunkSource {
+
+    private final FileHandle file;
+    private final String tmxFilePath;
+    private final ArrayList<int[]> layerGids = new ArrayList<>();
+
+    private int cols;
+
+    public TmxChunkSource(String tmxFilePath) {
+        this(Gdx.files.internal(tmxFilePath));
+    }
+
+    public TmxChunkSource(FileHandle file) {
+        this.file = file;
+        this.tmxFilePath = file.path();
+    }
+
+    @Override
+    public Header open() {
+        var root = new XmlReader().parse(file);
+        if (root.getIntAttribute("infinite", 0) != 0) {
+            throw new GdxRuntimeException("Unable to stream map '%s', infinite maps aren't supported".formatted(tmxFilePath));
+        }
+
+        this.cols = root.getIntAttribute("width");
+        var rows = root.getIntAttribute("height");
+        var tileSize = root.getIntAttribute("tilewidth");
+
+        var tilesets = new ArrayList<Tileset>();
+        for (var element : root.getChildrenByName("tileset")) {
+            tilesets.add(readTileset(file, element));
+        }
+
+        var layers = new ArrayList<Layer>();
+        layerGids.clear();
+        for (var element : root.getChildrenByName("layer")) {
+            var width = element.getIntAttribute("width");
+            var height = element.getIntAttribute("height");
+            var ids = BaseTmxMapLoader.getTileIds(element, width, height);
+
+            // tmx rows run top down, flip them so row 0 is at the bottom
+            var gids = new int[cols * rows];
+            for (int y = 0; y < Math.min(height, rows); y++) {
+                System.arraycopy(ids, (height - 1 - y) * width, gids, y * cols, Math.min(width, cols));
+            }
+            var name = element.getAttribute("name", "");
+            var visible = element.getIntAttribute("visible", 1) != 0;
+            var opacity = element.getFloatAttribute("opacity", 1f);
+            layers.add(new Layer(name, visible, opacity));
+            layerGids.add(gids);
+        }
+
+        return new Header(cols, rows, tileSize, layers, tilesets);
+    }
+
+    @Override
+    public int[] read(int layer, int x, int y, int w, int h, int[] out) {
+        var gids = layerGids.get(layer);
+        for (int row = 0; row < h; row++) {
+            System.arraycopy(gids, (y + row) * cols + x, out, row * w, w);
+        }
+        return out;
+    }
+
+    // ------------------------------------------------------------------------
+    // Implementation
+    // ------------------------------------------------------------------------
+
+    private Tileset readTileset(FileHandle tmxFile, XmlReader.Element element) {
+        var firstGid = element.getIntAttribute("firstgid", 1);
+        var baseFile = tmxFile;
+
+        var source = element.getAttribute("source", null);
+        if (source != null) {
+            baseFile = resolve(tmxFile, source);
+            element = new XmlReader().parse(baseFile);
+        }
+
+        var image = element.getChildByName("image");
+        if (image == null) {
+            throw new GdxRuntimeException("Unable to stream map '%s', tileset '%s' isn't backed by a single image"
+                .formatted(tmxFilePath, element.getAttribute("name", "")));
+        }
+
+        var tileWidth = element.getIntAttribute("tilewidth");
+        var tileHeight = element.getIntAttribute("tileheight");
+        var spacing = element.getIntAttribute("spacing", 0);
+        var margin = element.getIntAttribute("margin", 0);
+        var imageWidth = image.getIntAttribute("width", 0);
+        var imageHeight = image.getIntAttribute("height", 0);
+        var columns = element.getIntAttribute("columns", (imageWidth - 2 * margin + spacing) / (tileWidth + spacing));
+        var imageRows = (imageHeight - 2 * margin + spacing) / (tileHeight + spacing);
+        var tileCount = element.getIntAttribute("tilecount", columns * imageRows);
+        var imagePath = resolve(baseFile, image.getAttribute("source")).path();
+
+        return new Tileset(firstGid, imagePath, tileWidth, tileHeight, spacing, margin, columns, tileCount);
+    }
+
+    /**
+     * Resolve a path relative to the directory containing the specified file, handling '..' segments
+     */
+    static FileHandle resolve(FileHandle file, String path) {
+        var dir = file.parent();
+        for (var segment : path.split("[/\\\\]")) {
+            if (segment.isEmpty() || segment.equals(".")) continue;
+            dir = (segment.equals("..")) ? dir.parent() : dir.child(segment);
+        }
+        return dir;
+    }
+}
@@ -0,0 +1,526 @@
+package lando.systems.game.scene.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import lando.systems.game.scene.framework.Simulation;
+import lando.systems.game.scene.framework.families.RenderableComponent;
+import space.earlygrey.shapedrawer.ShapeDrawer;
+
+import java.util.Comparator;
+
+/**
+ * Keeps renderables in persistent buckets, grouped by {@link Layer} and then by integer z-index,
+ * and draws them bucket by bucket. Layers are drawn in enum order and buckets in ascending z,
+ * so draw order between groups never requires a sort. Moving a renderable to a different
+ * layer or z-index is a removal from one bucket and append to another.
+ * <p>
+ * Within a bucket, renderables are ordered by a packed sort key so that draws sharing
+ * a texture or shader end up next to each other and {@link SpriteBatch} flushes less often.
+ * Key layout, most significant first; compared as an unsigned long:
+ * <pre>
+ *   [ unused : 16 ][ depth : 32 ][ texture : 10 ][ shader : 6 ]
+ * </pre>
+ * Texture and shader ids are handed out in first-seen order and held for as long as any queued renderable's
+ * key uses them, so an id is never given to a different texture while it still means the old one.
+ * Past 1023 textures (or 63 shaders) in use at once, the extras share id 0 and just group less well.
+ * <p>
+ * Bucket contents persist between frames and are usually already in order, so each bucket
+ * is fixed up with an insertion sort pass that is close to linear for small changes.
+ * Removals keep the order of the remaining items and the sort is stable, so renderables with equal keys
+ * are always drawn in the order they joined the bucket.
+ * <p>
+ * Layers in y-sort mode (see {@link #setYSorted}) use {@link RenderableComponent#sortY()} in place
+ * of depth, so renderables further up the screen are drawn first, as in a top-down view.
+ * Only renderables that pass each other vertically cost anything extra to re-order.
+ * <p>
+ * While a {@link Simulation} thread is running the queue is in synced mode: it belongs to the GL thread,
+ * direct {@link #add}, {@link #remove} and {@link #move} calls are ignored, and membership and bucket moves
+ * are reconciled against each published snapshot with {@link #sync} instead.
+ */
+public class RenderQueue {
+
+    /**
+     * Coarse draw order, drawn first to last in declaration order.
+     * Each layer can be toggled on or off as a whole, see {@link #setEnabled}.
+     */
+    public enum Layer { BACKGROUND, WORLD, FOREGROUND, OVERLAY, DEBUG }
+
+    /**
+     * Renderables sharing a layer and z-index
+     */
+    public static final class Bucket {
+        public final RenderQueue queue;
+        public final Layer layer;
+        public final int z;
+
+        private final Array<RenderableComponent> items = new Array<>();
+        private long sortedFrame = -1;
+
+        private Bucket(RenderQueue queue, Layer layer, int z) {
+            this.queue = queue;
+            this.layer = layer;
+            this.z = z;
+        }
+
+        public int size() {
+            return items.size;
+        }
+    }
+
+    /**
+     * Decides which active renderables get drawn in a given frame, see {@link lando.systems.game.scene.spatial.RenderCuller}
+     */
+    @FunctionalInterface
+    public interface Visibility {
+        Visibility ALL = renderable -> true;
+
+        boolean test(RenderableComponent renderable);
+    }
+
+    private static final int MAX_TEXTURE_IDS = (1 << 10) - 1;
+    private static final int MAX_SHADER_IDS = (1 << 6) - 1;
+
+    /**
+     * Upper bound on insertion sort shifts per item before a bucket falls back to a full sort,
+     * so a bucket that arrives badly out of order (eg. when first filled) doesn't go quadratic
+     */
+    private static final int MAX_SHIFTS_PER_ITEM = 8;
+
+    private static final Comparator<RenderableComponent> BY_KEY =
+        (a, b) -> Long.compareUnsigned(a.sortKey, b.sortKey);
+
+    private static final Layer[] LAYERS = Layer.values();
+
+    private final boolean[] enabled = new boolean[LAYERS.length];
+    private final boolean[] ySorted = new boolean[LAYERS.length];
+
+    /**
+     * Per layer; buckets in ascending z order, and the same buckets keyed by z for lookup
+     */
+    @SuppressWarnings("unchecked")
+    private final Array<Bucket>[] buckets = new Array[LAYERS.length];
+    @SuppressWarnings("unchecked")
+    private final IntMap<Bucket>[] bucketsByZ = new IntMap[LAYERS.length];
+
+    /**
+     * Renderables added since the last render, they're bucketed on the next render
+     * because their layer and z-index usually aren't set until after construction
+     */
+    private final Array<RenderableComponent> pending = new Array<>();
+
+    /**
+     * Small ids for the textures and shaders in sort keys, id 0 is reserved for 'none'
+     */
+    private static final class Ids {
+        private final ObjectIntMap<Object> ids = new ObjectIntMap<>();
+        private final Object[] objects;
+        private final int[] users;
+        private final IntArray free = new IntArray();
+        private int next = 1;
+
+        private Ids(int maxId) {
+            this.objects = new Object[maxId + 1];
+            this.users = new int[maxId + 1];
+        }
+
+        /**
+         * Get the id for the specified object for one more user, assigning a free one if it's new
+         */
+        int acquire(Object object) {
+            if (object == null) return 0;
+
+            int id = ids.get(object, 0);
+            if (id == 0) {
+                if (free.notEmpty()) {
+                    id = free.pop();
+                } else if (next < objects.length) {
+                    id = next++;
+                } else {
+                    // out of ids, group with everything else that has none
+                    return 0;
+                }
+                ids.put(object, id);
+                objects[id] = object;
+            }
+            users[id]++;
+            return id;
+        }
+
+        /**
+         * Drop one user of the specified id, once there are none left the id can be reused
+         * and the object (eg. a texture that has since been disposed) is no longer referenced
+         */
+        void release(int id) {
+            if (id == 0) return;
+            if (--users[id] == 0) {
+                ids.remove(objects[id], 0);
+                objects[id] = null;
+                free.add(id);
+            }
+        }
+    }
+
+    private final Ids textureIds = new Ids(MAX_TEXTURE_IDS);
+    private final Ids shaderIds = new Ids(MAX_SHADER_IDS);
+
+    private long shiftsFrame = -1;
+    private int shifts;
+
+    private volatile boolean synced;
+    private long syncId;
+
+    public RenderQueue() {
+        for (int i = 0; i < LAYERS.length; i++) {
+            enabled[i] = true;
+            buckets[i] = new Array<>();
+            bucketsByZ[i] = new IntMap<>();
+        }
+    }
+
+    public boolean isEnabled(Layer layer) {
+        return enabled[layer.ordinal()];
+    }
+
+    /**
+     * Disabled layers are skipped entirely when rendering, without visiting their renderables
+     */
+    public void setEnabled(Layer layer, boolean isEnabled) {
+        enabled[layer.ordinal()] = isEnabled;
+    }
+
+    public void toggle(Layer layer) {
+        enabled[layer.ordinal()] = !enabled[layer.ordinal()];
+    }
+
+    public boolean isYSorted(Layer layer) {
+        return ySorted[layer.ordinal()];
+    }
+
+    /**
+     * In y-sort mode, renderables in the layer are ordered by descending {@link RenderableComponent#sortY()}
+     * instead of by {@link RenderableComponent#depth}, z-index buckets still apply
+     */
+    public void setYSorted(Layer layer, boolean isYSorted) {
+        ySorted[layer.ordinal()] = isYSorted;
+    }
+
+    /**
+     * @return the number of insertion sort shifts done while ordering buckets in the most recent frame,
+     * a rough measure of how much relative order changed since the frame before
+     */
+    public int sortShifts() {
+        return shifts;
+    }
+
+    /**
+     * @return the number of renderables in the specified layer, not counting ones added since the last render
+     */
+    public int count(Layer layer) {
+        int count = 0;
+        var layerBuckets = buckets[layer.ordinal()];
+        for (int i = 0; i < layerBuckets.size; i++) {
+            count += layerBuckets.get(i).size();
+        }
+        return count;
+    }
+
+    public boolean isSynced() {
+        return synced;
+    }
+
+    /**
+     * Switch synced mode on or off, only while no simulation thread is updating the scene.
+     * Switching it off leaves the queue as of the last {@link #sync}, so call it once more with the
+     * current renderables afterwards to pick up anything added or removed since then.
+     */
+    public void setSynced(boolean isSynced) {
+        synced = isSynced;
+    }
+
+    public void add(RenderableComponent renderable) {
+        if (synced || renderable.bucket != null) return;
+        pending.add(renderable);
+    }
+
+    public void remove(RenderableComponent renderable) {
+        if (synced) return;
+        if (renderable.bucket != null) {
+            removeFromBucket(renderable);
+            releaseIds(renderable);
+        } else {
+            pending.removeValue(renderable, true);
+        }
+    }
+
+    /**
+     * Move the renderable to the bucket matching its current layer and z-index,
+     * called by {@link RenderableComponent} when either one changes
+     */
+    public void move(RenderableComponent renderable) {
+        if (synced || renderable.bucket == null) return;
+
+        var target = bucket(renderable.layer(), renderable.z());
+        if (target == renderable.bucket) return;
+
+        removeFromBucket(renderable);
+        addToBucket(target, renderable);
+    }
+
+    /**
+     * Make the queue hold exactly the specified renderables, each in the bucket for the layer and z-index
+     * of its current {@link RenderableComponent#state()}. Called on the GL thread with each new snapshot.
+     *
+     * @param renderables every renderable that should be in the queue
+     * @param removed     renderables that were in the queue but aren't any more are added to this
+     */
+    public void sync(Array<RenderableComponent> renderables, Array<RenderableComponent> removed) {
+        var id = ++syncId;
+        flushPending();
+
+        for (int i = 0; i < renderables.size; i++) {
+            var renderable = renderables.get(i);
+            renderable.syncId = id;
+
+            var state = renderable.state();
+            var current = renderable.bucket;
+            if (current == null) {
+                addToBucket(bucket(state.layer, state.z), renderable);
+            } else if (current.layer != state.layer || current.z != state.z) {
+                removeFromBucket(renderable);
+                addToBucket(bucket(state.layer, state.z), renderable);
+            }
+        }
+
+        // compact each bucket in one pass, keeping the order of the renderables that stay
+        for (int l = 0; l < LAYERS.length; l++) {
+            var layerBuckets = buckets[l];
+            for (int b = 0; b < layerBuckets.size; b++) {
+                var items = layerBuckets.get(b).items;
+                int kept = 0;
+                for (int i = 0; i < items.size; i++) {
+                    var renderable = items.get(i);
+                    if (renderable.syncId != id) {
+                        renderable.bucket = null;
+                        renderable.bucketIndex = -1;
+                        releaseIds(renderable);
+                        removed.add(renderable);
+                    } else {
+                        items.set(kept, renderable);
+                        renderable.bucketIndex = kept;
+                        kept++;
+                    }
+                }
+                items.truncate(kept);
+            }
+        }
+    }
+
+    /**
+     * Draw each visible renderable in the enabled layers,
+     * switching shaders only when the shader actually changes
+     *
+     * @param visible decides which active renderables get drawn this frame
+     */
+    public void render(SpriteBatch batch, Visibility visible) {
+        flushPending();
+
+        ShaderProgram current = null;
+        for (int l = 0; l < LAYERS.length; l++) {
+            if (!enabled[l]) continue;
+
+            var layerBuckets = buckets[l];
+            for (int b = 0; b < layerBuckets.size; b++) {
+                var items = sort(layerBuckets.get(b));
+                for (int i = 0; i < items.size; i++) {
+                    var renderable = items.get(i);
+                    if (!renderable.active || !visible.test(renderable)) continue;
+
+                    var shader = renderable.shader();
+                    if (shader != current) {
+                        batch.setShader(shader);
+                        current = shader;
+                    }
+                    renderable.render(batch);
+                }
+            }
+        }
+        if (current != null) {
+            batch.setShader(null);
+        }
+    }
+
+    public void render(ShapeDrawer shapes, Visibility visible) {
+        flushPending();
+
+        for (int l = 0; l < LAYERS.length; l++) {
+            if (!enabled[l]) continue;
+
+            var layerBuckets = buckets[l];
+            for (int b = 0; b < layerBuckets.size; b++) {
+                var items = sort(layerBuckets.get(b));
+                for (int i = 0; i < items.size; i++) {
+                    var renderable = items.get(i);
+                    if (!renderable.active || !visible.test(renderable)) continue;
+
+                    renderable.render(shapes);
+                }
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Implementation
+    // ------------------------------------------------------------------------
+
+    private void flushPending() {
+        for (int i = 0; i < pending.size; i++) {
+            var renderable = pending.get(i);
+            addToBucket(bucket(renderable.layer(), renderable.z()), renderable);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Get the bucket for the specified layer and z-index, creating it if needed.
+     * Buckets are kept once created, so this only searches the layer's bucket list the first time a z-index is used.
+     */
+    private Bucket bucket(Layer layer, int z) {
+        var byZ = bucketsByZ[layer.ordinal()];
+        var bucket = byZ.get(z);
+        if (bucket == null) {
+            bucket = new Bucket(this, layer, z);
+            byZ.put(z, bucket);
+
+            var layerBuckets = buckets[layer.ordinal()];
+            int index = 0;
+            while (index < layerBuckets.size && layerBuckets.get(index).z < z) {
+                index++;
+            }
+            layerBuckets.insert(index, bucket);
+        }
+        return bucket;
+    }
+
+    private static void addToBucket(Bucket bucket, RenderableComponent renderable) {
+        renderable.bucket = bucket;
+        renderable.bucketIndex = bucket.items.size;
+        bucket.items.add(renderable);
+    }
+
+    /**
+     * Remove keeping the order of the items after it, a swap-remove would reorder renderables
+     * with equal keys since the stable sort has nothing to put them back in order by
+     */
+    private static void removeFromBucket(RenderableComponent renderable) {
+        var items = renderable.bucket.items;
+        int index = renderable.bucketIndex;
+        items.removeIndex(index);
+        for (int i = index; i < items.size; i++) {
+            items.get(i).bucketIndex = i;
+        }
+
+        renderable.bucket = null;
+        renderable.bucketIndex = -1;
+    }
+
+    /**
+     * Bring the bucket's items into key order, at most once per frame
+     */
+    private Array<RenderableComponent> sort(Bucket bucket) {
+        var items = bucket.items;
+        var frame = Gdx.graphics.getFrameId();
+        if (bucket.sortedFrame == frame) {
+            return items;
+        }
+        bucket.sortedFrame = frame;
+
+        if (shiftsFrame != frame) {
+            shiftsFrame = frame;
+            shifts = 0;
+        }
+
+        var ySort = ySorted[bucket.layer.ordinal()];
+        for (int i = 0; i < items.size; i++) {
+            var renderable = items.get(i);
+            renderable.sortKey = key(renderable, ySort);
+        }
+
+        if (!insertionSort(items)) {
+            items.sort(BY_KEY);
+        }
+        for (int i = 0; i < items.size; i++) {
+            items.get(i).bucketIndex = i;
+        }
+        return items;
+    }
+
+    /**
+     * Stable insertion sort by key, gives up once the shift budget is spent
+     *
+     * @return true if the items are now sorted, false if a full sort is still needed
+     */
+    private boolean insertionSort(Array<RenderableComponent> items) {
+        int budget = items.size * MAX_SHIFTS_PER_ITEM;
+        for (int i = 1; i < items.size; i++) {
+            var item = items.get(i);
+            int j = i - 1;
+            while (j >= 0 && Long.compareUnsigned(items.get(j).sortKey, item.sortKey) > 0) {
+                if (--budget < 0) {
+                    // put the item back in a hole so the array is still a permutation
+                    items.set(j + 1, item);
+                    return false;
+                }
+                items.set(j + 1, items.get(j));
+                shifts++;
+                j--;
+            }
+            items.set(j + 1, item);
+        }
+        return true;
+    }
+
+    private long key(RenderableComponent renderable, boolean ySort) {
+        var order = (ySort) ? -renderable.state().sortY : renderable.depth;
+        long depth = sortableBits(order) & 0xffffffffL;
+
+        // ids only change when the renderable's own texture or shader does, so equal keys stay equal
+        var texture = renderable.texture();
+        if (texture != renderable.keyTexture) {
+            textureIds.release(renderable.keyTextureId);
+            renderable.keyTextureId = textureIds.acquire(texture);
+            renderable.keyTexture = texture;
+        }
+        var shader = renderable.shader();
+        if (shader != renderable.keyShader) {
+            shaderIds.release(renderable.keyShaderId);
+            renderable.keyShaderId = shaderIds.acquire(shader);
+            renderable.keyShader = shader;
+        }
+        return (depth << 16) | ((long) renderable.keyTextureId << 6) | renderable.keyShaderId;
+    }
+
+    /**
+     * Give up the ids held by a renderable leaving the queue
+     */
+    private void releaseIds(RenderableComponent renderable) {
+        textureIds.release(renderable.keyTextureId);
+        shaderIds.release(renderable.keyShaderId);
+        renderable.keyTexture = null;
+        renderable.keyShader = null;
+        renderable.keyTextureId = 0;
+        renderable.keyShaderId = 0;
+    }
+
+    /**
+     * Map float bits so that unsigned integer order matches float order
+     */
+    private static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return (bits < 0) ? ~bits : bits ^ 0x80000000;
+    }
+}
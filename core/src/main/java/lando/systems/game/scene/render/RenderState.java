@@ -0,0 +1,70 @@
+package lando.systems.game.scene.render;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
+import lando.systems.game.scene.framework.Simulation;
+import lando.systems.game.scene.framework.families.RenderableComponent;
+
+/**
+ * Copy of the values a {@link RenderableComponent} draws with, captured at the end of an update.
+ * Each renderable owns one per snapshot buffer; while a {@link Simulation} thread is running
+ * the GL thread only ever reads a state the simulation has finished writing,
+ * otherwise the state is recaptured on the GL thread each frame.
+ */
+public final class RenderState {
+
+    /**
+     * Index of the snapshot buffer this state belongs to, for subclasses that double buffer their own draw data
+     */
+    public final int buffer;
+
+    public float x;
+    public float y;
+    public float width;
+    public float height;
+    public float originX;
+    public float originY;
+    public float scaleX;
+    public float scaleY;
+    public float sortY;
+    public final Color tint = new Color();
+
+    /**
+     * {@link #tint} packed with {@link Color#toFloatBits()}, for drawing with per vertex color
+     */
+    public float packedTint;
+
+    /**
+     * Current animation frame for renderables that have one
+     */
+    public TextureRegion keyframe;
+
+    public RenderQueue.Layer layer;
+    public int z;
+
+    /**
+     * The renderable's {@link RenderableComponent#version()} as of this capture,
+     * equal versions mean nothing that affects drawing changed in between
+     */
+    public int version = -1;
+
+    public RenderState(int buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Set the specified rectangle to the scaled draw rectangle, which has a negative size when flipped
+     *
+     * @param out the {@link Rectangle} to set
+     * @return the output rectangle
+     */
+    public Rectangle rect(Rectangle out) {
+        return out.set(
+            x - originX * scaleX,
+            y - originY * scaleY,
+            width * scaleX,
+            height * scaleY
+        );
+    }
+}
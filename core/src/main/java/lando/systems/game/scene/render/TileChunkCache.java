@@ -0,0 +1,230 @@
+package lando.systems.game.scene.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Disposable;
+import lando.systems.game.math.Calc;
+
+import java.util.List;
+
+/**
+ * Pre-baked geometry for static tile layers, split into square chunks of {@link #CHUNK_TILES} tiles
+ * so that only the chunks overlapping the view get submitted each frame.
+ * <p>
+ * Vertex data for every tile is built once up front in a {@link SpriteCache}, rather than
+ * being rebuilt per frame like {@link com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer} does.
+ * Chunks are baked in map-local coordinates and positioned with a transform when drawn,
+ * so moving the map doesn't require a rebuild.
+ * <p>
+ * Layers containing animated tiles aren't baked, see {@link #isBaked}.
+ * Each layer's opacity is baked into the cache color of its tiles, and chunks are drawn with alpha blending.
+ * A {@link SpriteCache} draws with its own shader and doesn't manage blending, so any active {@code SpriteBatch}
+ * must be ended before {@link #begin} and restarted after {@link #end}.
+ */
+public class TileChunkCache implements Disposable {
+
+    public static final int CHUNK_TILES = 32;
+
+    /**
+     * Sprite limit for a {@link SpriteCache} that uses an index buffer
+     */
+    private static final int MAX_INDEXED_SPRITES = 8191;
+
+    private final SpriteCache cache;
+    private final Matrix4 transform = new Matrix4();
+
+    /**
+     * Cache ids per baked layer, indexed by [layer][chunkY * chunkCols + chunkX], -1 for empty chunks.
+     * Null entries are layers that weren't baked.
+     */
+    private final int[][] chunkIds;
+
+    public final int tileSize;
+    public final int chunkCols;
+    public final int chunkRows;
+
+    private int chunksDrawn;
+
+    public TileChunkCache(List<TiledMapTileLayer> layers, int tileSize, int cols, int rows) {
+        this.tileSize = tileSize;
+        this.chunkCols = (int) Calc.ceiling(cols / (float) CHUNK_TILES);
+        this.chunkRows = (int) Calc.ceiling(rows / (float) CHUNK_TILES);
+        this.chunkIds = new int[layers.size()][];
+
+        // size the cache up front, it can't grow once created
+        int numTiles = 0;
+        for (var layer : layers) {
+            if (isStatic(layer)) {
+                numTiles += countTiles(layer);
+            }
+        }
+
+        if (numTiles == 0) {
+            this.cache = null;
+            return;
+        }
+
+        this.cache = new SpriteCache(numTiles, numTiles <= MAX_INDEXED_SPRITES);
+        for (int i = 0; i < layers.size(); i++) {
+            var layer = layers.get(i);
+            if (isStatic(layer)) {
+                chunkIds[i] = bake(layer);
+            }
+        }
+    }
+
+    /**
+     * @return true if the layer at the specified index (in the list passed at construction) is drawn from this cache
+     */
+    public boolean isBaked(int layerIndex) {
+        return chunkIds[layerIndex] != null;
+    }
+
+    /**
+     * @return the number of chunks drawn since the last {@link #begin}
+     */
+    public int chunksDrawn() {
+        return chunksDrawn;
+    }
+
+    /**
+     * Prepare to draw chunks, offset by the map's world position.
+     * Blending is switched on here since {@code SpriteBatch.end()} leaves it off.
+     */
+    public void begin(Matrix4 projection, float x, float y) {
+        chunksDrawn = 0;
+        if (cache == null) return;
+
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        cache.setProjectionMatrix(projection);
+        cache.setTransformMatrix(transform.setToTranslation(x, y, 0));
+        cache.begin();
+    }
+
+    /**
+     * Draw each non-empty chunk of the specified layer that overlaps the view
+     *
+     * @param layerIndex index of a baked layer
+     * @param view       visible area, in map-local coordinates
+     */
+    public void draw(int layerIndex, Rectangle view) {
+        var ids = chunkIds[layerIndex];
+        if (ids == null) return;
+
+        var chunkSize = CHUNK_TILES * tileSize;
+        int minX = Calc.clampInt((int) Calc.floor(view.x / chunkSize), 0, chunkCols - 1);
+        int minY = Calc.clampInt((int) Calc.floor(view.y / chunkSize), 0, chunkRows - 1);
+        int maxX = Calc.clampInt((int) Calc.floor((view.x + view.width) / chunkSize), 0, chunkCols - 1);
+        int maxY = Calc.clampInt((int) Calc.floor((view.y + view.height) / chunkSize), 0, chunkRows - 1);
+
+        for (int cy = minY; cy <= maxY; cy++) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                var id = ids[cy * chunkCols + cx];
+                if (id == -1) continue;
+
+                cache.draw(id);
+                chunksDrawn++;
+            }
+        }
+    }
+
+    public void end() {
+        if (cache == null) return;
+        cache.end();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    @Override
+    public void dispose() {
+        if (cache != null) {
+            cache.dispose();
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Implementation
+    // ------------------------------------------------------------------------
+
+    private int[] bake(TiledMapTileLayer layer) {
+        var ids = new int[chunkCols * chunkRows];
+        // the cache color is written into each tile's vertices as it's added
+        cache.setColor(1f, 1f, 1f, layer.getOpacity());
+
+        for (int cy = 0; cy < chunkRows; cy++) {
+            for (int cx = 0; cx < chunkCols; cx++) {
+                int startX = cx * CHUNK_TILES;
+                int startY = cy * CHUNK_TILES;
+                int endX = Math.min(startX + CHUNK_TILES, layer.getWidth());
+                int endY = Math.min(startY + CHUNK_TILES, layer.getHeight());
+
+                cache.beginCache();
+                int count = 0;
+                for (int y = startY; y < endY; y++) {
+                    for (int x = startX; x < endX; x++) {
+                        if (addTile(layer, x, y)) {
+                            count++;
+                        }
+                    }
+                }
+                int id = cache.endCache();
+                ids[cy * chunkCols + cx] = (count > 0) ? id : -1;
+            }
+        }
+        cache.setColor(1f, 1f, 1f, 1f);
+        return ids;
+    }
+
+    private boolean addTile(TiledMapTileLayer layer, int x, int y) {
+        var cell = layer.getCell(x, y);
+        if (cell == null || cell.getTile() == null) return false;
+
+        var tile = cell.getTile();
+        var region = tile.getTextureRegion();
+        var w = region.getRegionWidth();
+        var h = region.getRegionHeight();
+        var scaleX = cell.getFlipHorizontally() ? -1f : 1f;
+        var scaleY = cell.getFlipVertically()   ? -1f : 1f;
+        var rotation = cell.getRotation() * 90f;
+
+        cache.add(region,
+            x * tileSize + tile.getOffsetX(),
+            y * tileSize + tile.getOffsetY(),
+            w / 2f, h / 2f, w, h,
+            scaleX, scaleY, rotation);
+        return true;
+    }
+
+    /**
+     * Layers with animated tiles change every frame, so they can't be baked
+     */
+    private static boolean isStatic(TiledMapTileLayer layer) {
+        for (int y = 0; y < layer.getHeight(); y++) {
+            for (int x = 0; x < layer.getWidth(); x++) {
+                var cell = layer.getCell(x, y);
+                if (cell != null && cell.getTile() instanceof AnimatedTiledMapTile) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int countTiles(TiledMapTileLayer layer) {
+        int count = 0;
+        for (int y = 0; y < layer.getHeight(); y++) {
+            for (int x = 0; x < layer.getWidth(); x++) {
+                var cell = layer.getCell(x, y);
+                if (cell != null && cell.getTile() != null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
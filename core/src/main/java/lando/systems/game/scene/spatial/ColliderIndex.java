@@ -0,0 +1,174 @@
+package lando.systems.game.scene.spatial;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import lando.systems.game.scene.components.Collider;
+
+/**
+ * Broadphase for {@link Collider} queries, partitioned by whether a collider is static or dynamic.
+ * <ul>
+ *     <li>
+ *         <strong>static</strong> rect and circle colliders (walls, platforms) are kept in a coarse
+ *         {@link SpatialHash} that is only rebuilt when a static collider is added, removed or flagged as moved
+ *     </li>
+ *     <li>
+ *         <strong>static</strong> grid colliders (tilemaps) cover large regions and do their own per-tile tests,
+ *         so they're kept in a short list and only bounds-checked here
+ *     </li>
+ *     <li>
+ *         <strong>dynamic</strong> colliders are kept in a finer {@link SpatialHash} that is incrementally
+ *         updated; once per tick in {@link #update()}, for the querying collider on each query,
+ *         and whenever a collider's entity is moved through its {@code Position}
+ *     </li>
+ * </ul>
+ * Colliders are registered by {@link lando.systems.game.scene.framework.World} as they're created,
+ * but only get inserted on the next query or update since their shape isn't set yet when registered.
+ */
+public class ColliderIndex {
+
+    private static final float DYNAMIC_CELL_SIZE = 64f;
+    private static final float STATIC_CELL_SIZE = 128f;
+
+    /**
+     * Extra padding around query bounds. Moves through {@link lando.systems.game.scene.components.Position}
+     * refresh the moved collider right away, so this only covers dynamic colliders whose position was
+     * changed some other way since their entry was last refreshed, by less than the margin
+     */
+    private static final float QUERY_MARGIN = 2f;
+
+    private final SpatialHash<Collider> dynamics = new SpatialHash<>(DYNAMIC_CELL_SIZE);
+    private final SpatialHash<Collider> statics = new SpatialHash<>(STATIC_CELL_SIZE);
+    private final Array<Collider> dynamicColliders = new Array<>();
+    private final Array<Collider> staticColliders = new Array<>();
+    private final Array<Collider> gridColliders = new Array<>();
+    private final Array<Collider> pending = new Array<>();
+    private final Rectangle bounds = new Rectangle();
+    private final Rectangle queryBounds = new Rectangle();
+
+    private boolean staticsDirty;
+
+    /**
+     * Number of times the static partition has been rebuilt, for diagnostics
+     */
+    public int staticRebuilds;
+
+    /**
+     * Register a newly created collider, it gets inserted into
+     * the appropriate partition on the next query or update
+     */
+    public void add(Collider collider) {
+        pending.add(collider);
+    }
+
+    public void remove(Collider collider) {
+        if (pending.removeValue(collider, true)) return;
+
+        if (dynamicColliders.removeValue(collider, true)) {
+            dynamics.remove(collider);
+        } else if (staticColliders.removeValue(collider, true)) {
+            staticsDirty = true;
+        } else {
+            gridColliders.removeValue(collider, true);
+        }
+    }
+
+    /**
+     * Move a collider between partitions after its static flag was changed
+     */
+    public void changed(Collider collider) {
+        if (pending.contains(collider, true)) return;
+        remove(collider);
+        insert(collider);
+    }
+
+    /**
+     * Flag the static partition for a rebuild, for the rare case that a static collider was moved
+     */
+    public void markStaticDirty() {
+        staticsDirty = true;
+    }
+
+    /**
+     * Insert pending colliders, rebuild the static partition if needed,
+     * and refresh every dynamic collider's cells from its current position
+     */
+    public void update() {
+        flush();
+        for (int i = 0; i < dynamicColliders.size; i++) {
+            var collider = dynamicColliders.get(i);
+            dynamics.update(collider, collider.shape.bounds(bounds));
+        }
+    }
+
+    /**
+     * Refresh a single dynamic collider's cells from its current position
+     */
+    public void refresh(Collider collider) {
+        if (collider.isStatic()) return;
+        if (!dynamics.contains(collider)) return;
+        dynamics.update(collider, collider.shape.bounds(bounds));
+    }
+
+    /**
+     * Append candidate colliders whose partition cells overlap the specified bounds,
+     * static colliders first. Candidates still need an exact overlap test.
+     *
+     * @param area the region to search, in world coordinates
+     * @param out  array that candidates are appended to, not cleared first
+     * @return the output array
+     */
+    public Array<Collider> query(Rectangle area, Array<Collider> out) {
+        flush();
+
+        queryBounds.set(
+            area.x - QUERY_MARGIN,
+            area.y - QUERY_MARGIN,
+            area.width + 2 * QUERY_MARGIN,
+            area.height + 2 * QUERY_MARGIN);
+
+        for (int i = 0; i < gridColliders.size; i++) {
+            var grid = gridColliders.get(i);
+            if (grid.shape.bounds(bounds).overlaps(queryBounds)) {
+                out.add(grid);
+            }
+        }
+        statics.query(queryBounds, out);
+        dynamics.query(queryBounds, out);
+        return out;
+    }
+
+    // ------------------------------------------------------------------------
+    // Implementation
+    // ------------------------------------------------------------------------
+
+    private void flush() {
+        if (pending.notEmpty()) {
+            for (int i = 0; i < pending.size; i++) {
+                insert(pending.get(i));
+            }
+            pending.clear();
+        }
+
+        if (staticsDirty) {
+            staticsDirty = false;
+            staticRebuilds++;
+            statics.clear();
+            for (int i = 0; i < staticColliders.size; i++) {
+                var collider = staticColliders.get(i);
+                statics.insert(collider, collider.shape.bounds(bounds));
+            }
+        }
+    }
+
+    private void insert(Collider collider) {
+        if (!collider.isStatic()) {
+            dynamicColliders.add(collider);
+            dynamics.insert(collider, collider.shape.bounds(bounds));
+        } else if (collider.shape instanceof Collider.GridShape) {
+            gridColliders.add(collider);
+        } else {
+            staticColliders.add(collider);
+            staticsDirty = true;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package lando.systems.game.scene.spatial;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import lando.systems.game.scene.framework.families.RenderableComponent;
+import lando.systems.game.scene.render.RenderQueue;
+
+/**
+ * Determines which {@link RenderableComponent} instances overlap the camera view each frame.
+ * <ul>
+ *     <li>
+ *         below {@link #INDEX_THRESHOLD} renderables, each renderable's bounds
+ *         are tested directly against the view rectangle
+ *     </li>
+ *     <li>
+ *         at or above the threshold, renderables are kept in a {@link SpatialHash}
+ *         and only the ones in cells overlapping the view get an exact test,
+ *         index entries are only refreshed for the renderables captured since the previous frame
+ *     </li>
+ * </ul>
+ * Visible renderables are marked with the current frame id rather than collected into a list,
+ * so culling never affects draw order, that's up to the {@link RenderQueue}.
+ * The result is computed once per frame and shared by the {@code SpriteBatch} and {@code ShapeDrawer} passes.
+ */
+public class RenderCuller implements RenderQueue.Visibility {
+
+    private static final int INDEX_THRESHOLD = 512;
+    private static final float INDEX_CELL_SIZE = 256f;
+
+    /**
+     * Extra padding around the view, so things just at the edge aren't popping in and out
+     */
+    private static final float VIEW_MARGIN = 8f;
+
+    private final SpatialHash<RenderableComponent> index = new SpatialHash<>(INDEX_CELL_SIZE);
+    private final Array<RenderableComponent> candidates = new Array<>();
+
+    /**
+     * Renderables that aren't cullable, kept alongside the index since they're drawn whatever the view
+     */
+    private final Array<RenderableComponent> uncullable = new Array<>();
+    private final Rectangle view = new Rectangle();
+    private final Rectangle bounds = new Rectangle();
+
+    private long frameId = -1;
+    private int culled;
+    private int visible;
+
+    /**
+     * Whether the index (and the uncullable list) hold every renderable, so only changes need to be applied
+     */
+    private boolean indexed;
+
+    /**
+     * Disable to render every active renderable, eg. for comparing against culled output
+     */
+    public boolean enabled = true;
+
+    /**
+     * @return the number of renderables skipped by the most recent {@link #cull},
+     * including inactive ones once there are enough renderables to index
+     */
+    public int culledCount() {
+        return culled;
+    }
+
+    /**
+     * @return the number of renderables that passed the most recent {@link #cull}
+     */
+    public int visibleCount() {
+        return visible;
+    }
+
+    /**
+     * @return true if the renderable passed the most recent {@link #cull}
+     */
+    @Override
+    public boolean test(RenderableComponent renderable) {
+        return renderable.visibleFrame == frameId;
+    }
+
+    /**
+     * Drop a destroyed renderable from the spatial index, if it was in it
+     */
+    public void remove(RenderableComponent renderable) {
+        index.remove(renderable);
+        uncullable.removeValue(renderable, true);
+        renderable.indexedVersion = -1;
+    }
+
+    /**
+     * Rebuild the index from every renderable on the next {@link #cull},
+     * for when changes may have been made without being passed along (eg. on a simulation thread)
+     */
+    public void invalidate() {
+        indexed = false;
+    }
+
+    /**
+     * Mark the active renderables that should be drawn for the specified camera this frame,
+     * repeat calls within the same frame do nothing. Query the result with {@link #test}.
+     *
+     * @param renderables all renderables
+     * @param changed     the renderables captured since the previous frame, or null if that isn't known,
+     *                    in which case every renderable's index entry is checked
+     * @param camera      the camera that defines the view
+     * @return this culler, for passing to {@link RenderQueue#render}
+     */
+    public RenderCuller cull(Array<RenderableComponent> renderables, Array<RenderableComponent> changed, OrthographicCamera camera) {
+        var frame = Gdx.graphics.getFrameId();
+        if (frame == frameId) {
+            return this;
+        }
+        frameId = frame;
+
+        visible = 0;
+        culled = 0;
+
+        if (!enabled) {
+            // changes aren't applied to the index while disabled
+            indexed = false;
+            for (int i = 0; i < renderables.size; i++) {
+                var renderable = renderables.get(i);
+                if (renderable.active) {
+                    markVisible(renderable);
+                }
+            }
+            return this;
+        }
+
+        var width  = camera.viewportWidth  * camera.zoom + 2 * VIEW_MARGIN;
+        var height = camera.viewportHeight * camera.zoom + 2 * VIEW_MARGIN;
+        view.set(camera.position.x - width / 2f, camera.position.y - height / 2f, width, height);
+
+        if (renderables.size < INDEX_THRESHOLD) {
+            if (index.size() > 0 || uncullable.size > 0) {
+                index.clear();
+                uncullable.clear();
+                for (int i = 0; i < renderables.size; i++) {
+                    renderables.get(i).indexedVersion = -1;
+                }
+            }
+            indexed = false;
+            cullLinear(renderables);
+        } else {
+            cullIndexed(renderables, changed);
+        }
+        return this;
+    }
+
+    private void cullLinear(Array<RenderableComponent> renderables) {
+        for (int i = 0; i < renderables.size; i++) {
+            var renderable = renderables.get(i);
+            if (!renderable.active) continue;
+
+            if (!renderable.cullable() || renderable.bounds(bounds).overlaps(view)) {
+                markVisible(renderable);
+            } else {
+                culled++;
+            }
+        }
+    }
+
+    private void cullIndexed(Array<RenderableComponent> renderables, Array<RenderableComponent> changed) {
+        // refresh index entries for renderables that changed since they were last indexed,
+        // this only touches cell lists for renderables that changed cells
+        if (!indexed || changed == null) {
+            uncullable.clear();
+            for (int i = 0; i < renderables.size; i++) {
+                var renderable = renderables.get(i);
+                if (!renderable.cullable()) {
+                    uncullable.add(renderable);
+                    renderable.indexedVersion = renderable.state().version;
+                } else {
+                    refresh(renderable);
+                }
+            }
+            indexed = true;
+        } else {
+            for (int i = 0; i < changed.size; i++) {
+                refresh(changed.get(i));
+            }
+        }
+
+        // exact tests only for renderables in cells overlapping the view
+        candidates.clear();
+        index.query(view, candidates);
+        for (int i = 0; i < candidates.size; i++) {
+            var renderable = candidates.get(i);
+            if (renderable.active && renderable.bounds(bounds).overlaps(view)) {
+                markVisible(renderable);
+            }
+        }
+        candidates.clear();
+        culled = index.size() - visible;
+
+        // non-cullable renderables aren't in the index
+        for (int i = 0; i < uncullable.size; i++) {
+            var renderable = uncullable.get(i);
+            if (renderable.active) {
+                markVisible(renderable);
+            }
+        }
+    }
+
+    private void refresh(RenderableComponent renderable) {
+        var version = renderable.state().version;
+        if (renderable.indexedVersion == version) return;
+
+        if (renderable.cullable()) {
+            index.update(renderable, renderable.bounds(bounds));
+        } else if (renderable.indexedVersion == -1) {
+            // first seen, only happens once since uncullable renderables never get a -1 back
+            uncullable.add(renderable);
+        }
+        renderable.indexedVersion = version;
+    }
+
+    private void markVisible(RenderableComponent renderable) {
+        renderable.visibleFrame = frameId;
+        visible++;
+    }
+}
@@ -0,0 +1,199 @@
+package lando.systems.game.scene.spatial;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import lando.systems.game.math.Calc;
+
+/**
+ * Uniform grid broadphase that buckets items by the cells their bounds overlap.
+ * Cells are created lazily and kept around once created, so steady state
+ * insert / update / query calls don't allocate.
+ * <p>
+ * Items are compared by identity (through {@link ObjectMap}, which is fine
+ * for {@link lando.systems.game.scene.framework.Component} types that don't override equals).
+ *
+ * @param <T> type of item stored in the hash
+ */
+public class SpatialHash<T> {
+
+    private static final class Entry<T> {
+        T item;
+        int minX, minY, maxX, maxY;
+        int stamp;
+    }
+
+    public final float cellSize;
+
+    private final LongMap<Array<Entry<T>>> cells = new LongMap<>();
+    private final ObjectMap<T, Entry<T>> entries = new ObjectMap<>();
+    private final Array<Entry<T>> freeEntries = new Array<>();
+
+    /**
+     * Incremented for each query, used to avoid reporting an item
+     * more than once when its bounds span multiple cells
+     */
+    private int stamp;
+
+    public SpatialHash(float cellSize) {
+        this.cellSize = cellSize;
+        this.stamp = 0;
+    }
+
+    public int size() {
+        return entries.size;
+    }
+
+    public boolean contains(T item) {
+        return entries.containsKey(item);
+    }
+
+    /**
+     * Add the item to each cell overlapped by the specified bounds,
+     * or move it if the item is already in the hash
+     */
+    public void insert(T item, Rectangle bounds) {
+        if (entries.containsKey(item)) {
+            update(item, bounds);
+            return;
+        }
+
+        var entry = (freeEntries.isEmpty()) ? new Entry<T>() : freeEntries.pop();
+        entry.item = item;
+        entry.stamp = stamp;
+        setRange(entry, bounds);
+        entries.put(item, entry);
+        addToCells(entry);
+    }
+
+    /**
+     * Move the item to the cells overlapped by the specified bounds,
+     * inserting it if it isn't already in the hash.
+     *
+     * @return true if the set of cells containing the item changed
+     */
+    public boolean update(T item, Rectangle bounds) {
+        var entry = entries.get(item);
+        if (entry == null) {
+            insert(item, bounds);
+            return true;
+        }
+
+        int minX = cell(bounds.x);
+        int minY = cell(bounds.y);
+        int maxX = cell(bounds.x + bounds.width);
+        int maxY = cell(bounds.y + bounds.height);
+        if (minX == entry.minX && minY == entry.minY
+         && maxX == entry.maxX && maxY == entry.maxY) {
+            return false;
+        }
+
+        removeFromCells(entry);
+        entry.minX = minX;
+        entry.minY = minY;
+        entry.maxX = maxX;
+        entry.maxY = maxY;
+        addToCells(entry);
+        return true;
+    }
+
+    public void remove(T item) {
+        var entry = entries.remove(item);
+        if (entry == null) return;
+
+        removeFromCells(entry);
+        entry.item = null;
+        freeEntries.add(entry);
+    }
+
+    /**
+     * Remove all items, cell containers are kept for reuse
+     */
+    public void clear() {
+        for (var cell : cells.values()) {
+            cell.clear();
+        }
+        for (var entry : entries.values()) {
+            entry.item = null;
+            freeEntries.add(entry);
+        }
+        entries.clear();
+    }
+
+    /**
+     * Append each item whose cells overlap the specified bounds to the output array.
+     * This is a conservative test against cell coverage, callers are expected
+     * to do their own exact overlap test on the results.
+     *
+     * @param bounds the region to search
+     * @param out    array that candidate items are appended to, not cleared first
+     * @return the output array
+     */
+    public Array<T> query(Rectangle bounds, Array<T> out) {
+        int minX = cell(bounds.x);
+        int minY = cell(bounds.y);
+        int maxX = cell(bounds.x + bounds.width);
+        int maxY = cell(bounds.y + bounds.height);
+
+        stamp++;
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                var cell = cells.get(key(x, y));
+                if (cell == null) continue;
+
+                for (int i = 0; i < cell.size; i++) {
+                    var entry = cell.get(i);
+                    if (entry.stamp == stamp) continue;
+                    entry.stamp = stamp;
+                    out.add(entry.item);
+                }
+            }
+        }
+        return out;
+    }
+
+    // ------------------------------------------------------------------------
+    // Implementation
+    // ------------------------------------------------------------------------
+
+    private int cell(float value) {
+        return (int) Calc.floor(value / cellSize);
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    private void setRange(Entry<T> entry, Rectangle bounds) {
+        entry.minX = cell(bounds.x);
+        entry.minY = cell(bounds.y);
+        entry.maxX = cell(bounds.x + bounds.width);
+        entry.maxY = cell(bounds.y + bounds.height);
+    }
+
+    private void addToCells(Entry<T> entry) {
+        for (int y = entry.minY; y <= entry.maxY; y++) {
+            for (int x = entry.minX; x <= entry.maxX; x++) {
+                var key = key(x, y);
+                var cell = cells.get(key);
+                if (cell == null) {
+                    cell = new Array<>(false, 8);
+                    cells.put(key, cell);
+                }
+                cell.add(entry);
+            }
+        }
+    }
+
+    private void removeFromCells(Entry<T> entry) {
+        for (int y = entry.minY; y <= entry.maxY; y++) {
+            for (int x = entry.minX; x <= entry.maxX; x++) {
+                var cell = cells.get(key(x, y));
+                if (cell != null) {
+                    cell.removeValue(entry, true);
+                }
+            }
+        }
+    }
+}
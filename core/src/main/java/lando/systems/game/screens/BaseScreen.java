@@ -43,13 +43,19 @@ public abstract class BaseScreen implements Disposable {
 
     public void update(float delta) {
         windowCamera.update();
-        if (worldCamera != null) {
+        // the simulation thread owns the world camera while it's running
+        var simulating = (scene != null && scene.simulation.isRunning());
+        if (worldCamera != null && !simulating) {
             worldCamera.update();
         }
     }
 
     public abstract void render(SpriteBatch batch);
 
+    /**
+     * Draw any offscreen passes before {@link #render}, borrowing their framebuffers from
+     * {@link Assets#frameBuffers} rather than allocating them, and releasing them once the result is drawn
+     */
     public void renderOffscreenBuffers(SpriteBatch batch) {}
 
     public void initializeUI() {}
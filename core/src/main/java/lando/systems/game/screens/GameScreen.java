@@ -7,17 +7,36 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.ScreenUtils;
 import lando.systems.game.Config;
+import lando.systems.game.assets.Fonts;
 import lando.systems.game.assets.Icons;
+import lando.systems.game.utils.RenderStats;
+import lando.systems.game.utils.Time;
 import lando.systems.game.utils.Util;
 import lando.systems.game.world.ScenePlatformer;
 
 public class GameScreen extends BaseScreen {
 
     private final Color backgroundColor = new Color(0x131711ff);
+    private final StringBuilder statsText = new StringBuilder();
 
     public GameScreen() {
 //        this.scene = new SceneTest(this);
+//        this.scene = new SceneParticles(this);
         this.scene = new ScenePlatformer(this);
+        if (Config.simulation_thread) {
+            scene.simulation.start();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        scene.dispose();
+    }
+
+    @Override
+    public void alwaysUpdate(float delta) {
+        // hitstop and frame stepping skip update() entirely, so the simulation thread is told to hold still instead
+        scene.simulation.setPaused(Time.pause_timer > 0 || Config.Flag.FRAME_STEP.isEnabled());
     }
 
     @Override
@@ -28,6 +47,10 @@ public class GameScreen extends BaseScreen {
         if (shouldSkipFrame) {
             return;
         }
+        // only reached with frame stepping on when a step was requested
+        if (Config.Flag.FRAME_STEP.isEnabled()) {
+            scene.simulation.step();
+        }
 
         scene.update(dt);
 
@@ -39,7 +62,7 @@ public class GameScreen extends BaseScreen {
         ScreenUtils.clear(backgroundColor);
 
         var shapes = assets.shapes;
-        batch.setProjectionMatrix(worldCamera.combined);
+        batch.setProjectionMatrix(scene.renderCamera().combined);
         batch.begin();
         {
             scene.render(batch);
@@ -53,6 +76,9 @@ public class GameScreen extends BaseScreen {
             if (Config.Flag.GLOBAL.isEnabled()) {
                 renderConfigFlagIcons();
             }
+            if (Config.Flag.STATS.isEnabled()) {
+                renderStatsOverlay();
+            }
         }
         batch.end();
     }
@@ -88,6 +114,11 @@ public class GameScreen extends BaseScreen {
             Config.Flag.UI.toggle();
         }
 
+        var toggleStats = Gdx.input.isKeyJustPressed(Input.Keys.NUM_5);
+        if (toggleStats) {
+            Config.Flag.STATS.toggle();
+        }
+
         var toggleFrameStep = Gdx.input.isKeyJustPressed(Input.Keys.NUM_0);
         if (toggleFrameStep) {
             Config.Flag.FRAME_STEP.toggle();
@@ -157,4 +188,52 @@ public class GameScreen extends BaseScreen {
         }
         Util.free(rect);
     }
+
+    /**
+     * Draw the most recent frame's render counters along with percentiles over the recent window,
+     * the text is rebuilt in place each frame so the overlay itself doesn't allocate
+     */
+    private void renderStatsOverlay() {
+        var stats = assets.stats;
+        statsText.setLength(0);
+        statsText.append("counter           last    p50    p95    p99\n");
+        for (var counter : RenderStats.Counter.values()) {
+            appendPadded(statsText, counter.label, -16);
+            appendPadded(statsText, stats.last(counter), 7);
+            appendPadded(statsText, stats.percentile(counter, 50), 7);
+            appendPadded(statsText, stats.percentile(counter, 95), 7);
+            appendPadded(statsText, stats.percentile(counter, 99), 7);
+            statsText.append('\n');
+        }
+
+        var margin = 20f;
+        var font = Fonts.Type.ROUNDABOUT.getFont("small");
+        font.draw(batch, statsText, margin, windowCamera.viewportHeight - 2 * margin - 32f);
+    }
+
+    private static void appendPadded(StringBuilder out, int value, int width) {
+        var start = out.length();
+        out.append(value);
+        pad(out, start, width);
+    }
+
+    private static void appendPadded(StringBuilder out, String value, int width) {
+        var start = out.length();
+        out.append(value);
+        pad(out, start, width);
+    }
+
+    /**
+     * Pad the text appended since start with spaces to the specified width, on the left if positive or the right if negative
+     */
+    private static void pad(StringBuilder out, int start, int width) {
+        var padding = Math.abs(width) - (out.length() - start);
+        for (int i = 0; i < padding; i++) {
+            if (width > 0) {
+                out.insert(start, ' ');
+            } else {
+                out.append(' ');
+            }
+        }
+    }
 }
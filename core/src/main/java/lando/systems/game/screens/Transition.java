@@ -4,7 +4,6 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Pixmap;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.FrameBuffer;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
@@ -12,43 +11,64 @@ import lando.systems.game.Config;
 import lando.systems.game.Main;
 import lando.systems.game.assets.Assets;
 import lando.systems.game.assets.ScreenTransitions;
+import lando.systems.game.utils.FrameBufferPool;
 import lando.systems.game.utils.Time;
 
 import static lando.systems.game.assets.ScreenTransitions.Type;
 
 public class Transition {
 
-    private static class FrameBufferObjects {
-        final FrameBuffer original;
-        final FrameBuffer transition;
-        final Texture originalTexture;
-        final Texture transitionTexture;
-
-        FrameBufferObjects() {
-            var format = Pixmap.Format.RGB888;
-            var width = Config.window_width;
-            var height = Config.window_height;
-            original = new FrameBuffer(format, width, height, false);
-            transition = new FrameBuffer(format, width, height, false);
-            originalTexture = original.getColorBufferTexture();
-            transitionTexture = transition.getColorBufferTexture();
-        }
+    /**
+     * How the outgoing and incoming screens are drawn into their framebuffers during a transition
+     */
+    public enum Mode {
+        /**
+         * Both screens are re-rendered every frame and both keep updating
+         */
+        LIVE,
+        /**
+         * The outgoing screen is captured once when the transition starts and stops updating,
+         * only the incoming screen keeps updating and rendering
+         */
+        SNAPSHOT,
+        /**
+         * Both screens are captured once when the transition starts, after a single update of the incoming screen,
+         * so the transition itself only costs the final composite
+         */
+        FROZEN
     }
 
+    /**
+     * Mode used by transitions that don't specify one
+     */
+    public static Mode defaultMode = Mode.SNAPSHOT;
+
+    private static final Pixmap.Format BUFFER_FORMAT = Pixmap.Format.RGB888;
+
     private static ScreenTransitions transitions;
-    private static FrameBufferObjects fbo;
+    private static FrameBufferPool frameBuffers;
+
+    /**
+     * Borrowed from the {@link FrameBufferPool} for the duration of each transition, null otherwise
+     */
+    private static FrameBuffer original;
+    private static FrameBuffer transition;
     private static ShaderProgram shader;
     private static BaseScreen current;
     private static BaseScreen next;
     private static float percent;
     private static boolean instant;
+    private static Mode mode;
+    private static boolean originalCaptured;
+    private static boolean transitionCaptured;
 
     public static void init(Assets assets) {
         transitions = assets.get(ScreenTransitions.class);
-        fbo = new FrameBufferObjects();
+        frameBuffers = assets.frameBuffers;
         shader = transitions.get(Type.random());
         current = null;
         next = null;
+        mode = defaultMode;
 
         // NOTE: must be 1 on construction to indicate that there's not a transition in progress
         percent = 1;
@@ -58,14 +78,33 @@ public class Transition {
         return percent < 1;
     }
 
+    /**
+     * @return true if the outgoing screen only shows its captured frame, so there's no point updating it
+     */
+    public static boolean outgoingCaptured() {
+        return inProgress() && mode != Mode.LIVE;
+    }
+
     public static void to(BaseScreen newScreen, Type type, boolean immediate) {
+        to(newScreen, type, immediate, defaultMode);
+    }
+
+    public static void to(BaseScreen newScreen, Type type, boolean immediate, Mode transitionMode) {
         if (inProgress()) return;
 
         percent = 0;
         instant = immediate;
+        mode = transitionMode;
+        originalCaptured = false;
+        transitionCaptured = false;
         next = newScreen;
         current = Main.game.currentScreen;
 
+        var width = Config.window_width;
+        var height = Config.window_height;
+        original = frameBuffers.acquire(BUFFER_FORMAT, width, height, false);
+        transition = frameBuffers.acquire(BUFFER_FORMAT, width, height, false);
+
         if (type == null) {
             type = Type.random();
         }
@@ -90,29 +129,42 @@ public class Transition {
             next.transitioning = false;
             current.transitioning = false;
 
+            var previous = current;
             current = next;
             next = null;
 
             Main.game.currentScreen = current;
+            previous.dispose();
+
+            frameBuffers.release(original);
+            frameBuffers.release(transition);
+            original = null;
+            transition = null;
         }
     }
 
     public static void render(SpriteBatch batch) {
-        // update transition between current and next screens
-        next.update(Time.delta);
-        next.renderOffscreenBuffers(batch);
-
-        // render next screen to a buffer
-        fbo.transition.begin();
-        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
-        next.render(batch);
-        fbo.transition.end();
+        // update transition between current and next screens,
+        // then render next screen to a buffer, unless it's frozen and already captured
+        if (mode != Mode.FROZEN || !transitionCaptured) {
+            next.update(Time.delta);
+            next.renderOffscreenBuffers(batch);
+
+            transition.begin();
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+            next.render(batch);
+            transition.end();
+            transitionCaptured = true;
+        }
 
-        // render current screen to a buffer
-        fbo.original.begin();
-        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
-        Main.game.currentScreen.render(batch);
-        fbo.original.end();
+        // render current screen to a buffer, only once unless it's live
+        if (mode == Mode.LIVE || !originalCaptured) {
+            original.begin();
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+            Main.game.currentScreen.render(batch);
+            original.end();
+            originalCaptured = true;
+        }
 
         // combine next and current screen buffers with the transition shader, drawing into on-screen buffer
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
@@ -122,14 +174,16 @@ public class Transition {
             batch.setProjectionMatrix(camera.combined);
             batch.begin();
             {
-                fbo.originalTexture.bind(1);
-                fbo.transitionTexture.bind(0);
+                var originalTexture = original.getColorBufferTexture();
+                var transitionTexture = transition.getColorBufferTexture();
+                originalTexture.bind(1);
+                transitionTexture.bind(0);
 
                 shader.setUniformi("u_texture1", 1);
                 shader.setUniformf("u_percent", percent);
 
                 batch.setColor(Color.WHITE);
-                batch.draw(fbo.transitionTexture, 0, 0, camera.viewportWidth, camera.viewportHeight);
+                batch.draw(transitionTexture, 0, 0, camera.viewportWidth, camera.viewportHeight);
             }
             batch.end();
         }
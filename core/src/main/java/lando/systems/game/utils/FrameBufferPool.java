@@ -0,0 +1,126 @@
+package lando.systems.game.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Shared framebuffers for transitions and offscreen passes, matched by size, format and depth.
+ * <p>
+ * Borrow a buffer with {@link #acquire} for as long as its contents are needed, then hand it back with
+ * {@link #release} so the next pass asking for the same kind of buffer reuses it instead of allocating.
+ * Buffers left unused for {@link #IDLE_FRAMES} frames are disposed by {@link #evictIdle},
+ * so a resize or a one-off pass doesn't hold on to video memory for the rest of the app.
+ * <p>
+ * Acquired buffers keep whatever contents and texture filter their previous borrower left,
+ * so clear them and set filters as needed. Only use the pool from the GL thread.
+ */
+public class FrameBufferPool implements Disposable {
+
+    private static final String TAG = FrameBufferPool.class.getSimpleName();
+
+    /**
+     * Released buffers are disposed after going unused for this many frames
+     */
+    public static final int IDLE_FRAMES = 300;
+
+    private static class Entry {
+        final FrameBuffer buffer;
+        final Pixmap.Format format;
+        final int width;
+        final int height;
+        final boolean depth;
+        boolean inUse;
+        long releasedFrame;
+
+        Entry(Pixmap.Format format, int width, int height, boolean depth) {
+            this.buffer = new FrameBuffer(format, width, height, depth);
+            this.format = format;
+            this.width = width;
+            this.height = height;
+            this.depth = depth;
+        }
+
+        boolean matches(Pixmap.Format format, int width, int height, boolean depth) {
+            return this.format == format && this.width == width && this.height == height && this.depth == depth;
+        }
+    }
+
+    // only ever a handful of buffers, so a linear scan beats hashing a key per acquire
+    private final Array<Entry> entries = new Array<>();
+
+    /**
+     * Borrow a framebuffer, reusing a released one with the same size, format and depth if there is one
+     */
+    public FrameBuffer acquire(Pixmap.Format format, int width, int height, boolean depth) {
+        for (int i = 0; i < entries.size; i++) {
+            var entry = entries.get(i);
+            if (!entry.inUse && entry.matches(format, width, height, depth)) {
+                entry.inUse = true;
+                return entry.buffer;
+            }
+        }
+
+        var entry = new Entry(format, width, height, depth);
+        entry.inUse = true;
+        entries.add(entry);
+        return entry.buffer;
+    }
+
+    /**
+     * Hand a borrowed framebuffer back to the pool, null is ignored
+     */
+    public void release(FrameBuffer buffer) {
+        if (buffer == null) return;
+
+        for (int i = 0; i < entries.size; i++) {
+            var entry = entries.get(i);
+            if (entry.buffer == buffer) {
+                if (!entry.inUse) {
+                    throw new GdxRuntimeException("%s: framebuffer released twice".formatted(TAG));
+                }
+                entry.inUse = false;
+                entry.releasedFrame = Gdx.graphics.getFrameId();
+                return;
+            }
+        }
+        throw new GdxRuntimeException("%s: released a framebuffer that didn't come from this pool".formatted(TAG));
+    }
+
+    /**
+     * Dispose released buffers that have gone unused for {@link #IDLE_FRAMES} frames, call once per frame
+     */
+    public void evictIdle() {
+        var frame = Gdx.graphics.getFrameId();
+        for (int i = entries.size - 1; i >= 0; i--) {
+            var entry = entries.get(i);
+            if (!entry.inUse && frame - entry.releasedFrame > IDLE_FRAMES) {
+                entry.buffer.dispose();
+                entries.removeIndex(i);
+            }
+        }
+    }
+
+    /**
+     * @return the number of buffers currently allocated, borrowed or not
+     */
+    public int size() {
+        return entries.size;
+    }
+
+    @Override
+    public void dispose() {
+        for (int i = 0; i < entries.size; i++) {
+            var entry = entries.get(i);
+            if (entry.inUse) {
+                Util.log(TAG, "disposing a framebuffer that's still borrowed (%dx%d %s)"
+                    .formatted(entry.width, entry.height, entry.format));
+            }
+            entry.buffer.dispose();
+        }
+        entries.clear();
+    }
+}
@@ -0,0 +1,23 @@
+package lando.systems.game.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Map that keeps at most {@code capacity} entries, evicting the least recently accessed one when it's full.
+ * Evicted values are just dropped, anything still holding one can keep using it.
+ */
+public class LruMap<K, V> extends LinkedHashMap<K, V> {
+
+    private final int capacity;
+
+    public LruMap(int capacity) {
+        super(16, 0.75f, true);
+        this.capacity = capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > capacity;
+    }
+}
@@ -0,0 +1,129 @@
+package lando.systems.game.utils;
+
+import java.util.Arrays;
+
+/**
+ * Per-frame render counters, with a rolling window of recent frames for percentiles.
+ * <ul>
+ *     <li>
+ *         batch counters ({@link Counter#FLUSHES}, {@link Counter#TEXTURE_SWITCHES}, {@link Counter#SPRITES},
+ *         {@link Counter#SHAPES}) are recorded by {@link StatsSpriteBatch} as draws happen
+ *     </li>
+ *     <li>
+ *         culling counters ({@link Counter#VISIBLE}, {@link Counter#CULLED}) are recorded by each
+ *         {@code Scene.render} pass
+ *     </li>
+ *     <li>
+ *         {@link #beginFrame} and {@link #endFrame} bracket each frame, and record {@link Counter#FRAME_MICROS}
+ *         as the cpu time spent between them
+ *     </li>
+ * </ul>
+ * {@link #last} reads the values of the most recently completed frame, {@link #percentile} reads across the window.
+ */
+public class RenderStats {
+
+    public enum Counter {
+        //@formatter:off
+          FLUSHES
+        , TEXTURE_SWITCHES
+        , SPRITES
+        , SHAPES
+        , VISIBLE
+        , CULLED
+        , FRAME_MICROS
+        ;
+        //@formatter:on
+
+        private static final Counter[] values = values();
+
+        /**
+         * Display name, cached so overlays don't build a new string every frame
+         */
+        public final String label = name().toLowerCase();
+    }
+
+    /**
+     * Number of recent frames kept for percentiles
+     */
+    public static final int WINDOW = 120;
+
+    private final int[] current = new int[Counter.values.length];
+    private final int[] last = new int[Counter.values.length];
+    private final int[][] history = new int[Counter.values.length][WINDOW];
+    private final int[] sorted = new int[WINDOW];
+    private int sortedCounter = -1;
+    private long sortedFrame = -1;
+
+    private long frameStartNanos;
+    private long frames;
+    private int head;
+
+    /**
+     * While true, sprites drawn through the batch are counted as {@link Counter#SHAPES} instead of {@link Counter#SPRITES}
+     */
+    public boolean countingShapes;
+
+    public void beginFrame() {
+        Arrays.fill(current, 0);
+        countingShapes = false;
+        frameStartNanos = System.nanoTime();
+    }
+
+    public void endFrame() {
+        current[Counter.FRAME_MICROS.ordinal()] = (int) ((System.nanoTime() - frameStartNanos) / 1000L);
+        for (int i = 0; i < current.length; i++) {
+            last[i] = current[i];
+            history[i][head] = current[i];
+        }
+        head = (head + 1) % WINDOW;
+        frames++;
+    }
+
+    public void add(Counter counter, int amount) {
+        current[counter.ordinal()] += amount;
+    }
+
+    /**
+     * Count sprites as either sprites or shapes, depending on {@link #countingShapes}
+     */
+    public void addSprites(int amount) {
+        current[countingShapes ? Counter.SHAPES.ordinal() : Counter.SPRITES.ordinal()] += amount;
+    }
+
+    /**
+     * @return the number of completed frames recorded
+     */
+    public long frames() {
+        return frames;
+    }
+
+    /**
+     * @return the value of the specified counter in the most recently completed frame
+     */
+    public int last(Counter counter) {
+        return last[counter.ordinal()];
+    }
+
+    /**
+     * Nearest-rank percentile of the specified counter over the recent frames in the window
+     *
+     * @param counter    the counter to read
+     * @param percentile in the range [0, 100]
+     * @return the value at the requested percentile, 0 if no frames have been recorded yet
+     */
+    public int percentile(Counter counter, float percentile) {
+        int size = (int) Math.min(frames, WINDOW);
+        if (size == 0) return 0;
+
+        // sorted once per counter per frame, so reading several percentiles of one counter in a row is cheap
+        if (sortedCounter != counter.ordinal() || sortedFrame != frames) {
+            System.arraycopy(history[counter.ordinal()], 0, sorted, 0, size);
+            Arrays.sort(sorted, 0, size);
+            sortedCounter = counter.ordinal();
+            sortedFrame = frames;
+        }
+
+        int rank = (int) Math.ceil(percentile / 100f * size) - 1;
+        return sorted[Math.max(0, Math.min(size - 1, rank))];
+    }
+}
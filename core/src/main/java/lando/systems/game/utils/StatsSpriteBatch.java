@@ -0,0 +1,106 @@
+package lando.systems.game.utils;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Affine2;
+
+/**
+ * {@link SpriteBatch} that reports flushes, texture switches and sprites drawn to a {@link RenderStats}.
+ * <p>
+ * Every draw overload that submits vertices itself is overridden to count one sprite,
+ * or one per quad for raw vertex arrays. {@code draw(Texture, x, y)} and {@code draw(TextureRegion, x, y)}
+ * aren't, since they delegate to the sized overloads and would otherwise be counted twice.
+ */
+public class StatsSpriteBatch extends SpriteBatch {
+
+    private static final int QUAD_SIZE = 20;
+
+    public final RenderStats stats;
+
+    public StatsSpriteBatch(RenderStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public void flush() {
+        int calls = renderCalls;
+        super.flush();
+        stats.add(RenderStats.Counter.FLUSHES, renderCalls - calls);
+    }
+
+    @Override
+    protected void switchTexture(Texture texture) {
+        super.switchTexture(texture);
+        stats.add(RenderStats.Counter.TEXTURE_SWITCHES, 1);
+    }
+
+    // ------------------------------------------------------------------------
+    // Sprite counting
+    // ------------------------------------------------------------------------
+
+    @Override
+    public void draw(Texture texture, float x, float y, float originX, float originY, float width, float height,
+                     float scaleX, float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight,
+                     boolean flipX, boolean flipY) {
+        stats.addSprites(1);
+        super.draw(texture, x, y, originX, originY, width, height, scaleX, scaleY, rotation, srcX, srcY, srcWidth, srcHeight, flipX, flipY);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height,
+                     int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+        stats.addSprites(1);
+        super.draw(texture, x, y, width, height, srcX, srcY, srcWidth, srcHeight, flipX, flipY);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+        stats.addSprites(1);
+        super.draw(texture, x, y, srcX, srcY, srcWidth, srcHeight);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+        stats.addSprites(1);
+        super.draw(texture, x, y, width, height, u, v, u2, v2);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height) {
+        stats.addSprites(1);
+        super.draw(texture, x, y, width, height);
+    }
+
+    @Override
+    public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+        stats.addSprites(count / QUAD_SIZE);
+        super.draw(texture, spriteVertices, offset, count);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float width, float height) {
+        stats.addSprites(1);
+        super.draw(region, x, y, width, height);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY,
+                     float width, float height, float scaleX, float scaleY, float rotation) {
+        stats.addSprites(1);
+        super.draw(region, x, y, originX, originY, width, height, scaleX, scaleY, rotation);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY,
+                     float width, float height, float scaleX, float scaleY, float rotation, boolean clockwise) {
+        stats.addSprites(1);
+        super.draw(region, x, y, originX, originY, width, height, scaleX, scaleY, rotation, clockwise);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float width, float height, Affine2 transform) {
+        stats.addSprites(1);
+        super.draw(region, width, height, transform);
+    }
+}
@@ -2,6 +2,7 @@ package lando.systems.game.utils;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.NinePatch;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
@@ -30,6 +31,8 @@ public class Util {
     public static final Pool<Rectangle> rect = Pools.get(Rectangle.class, 500);
     public static final Pool<Circle> circ = Pools.get(Circle.class, 500);
 
+    private static final Color previousPatchColor = new Color();
+
     public static void free(Vector2... objects) {
         for (var object : objects) {
             Util.vec2.free(object);
@@ -157,7 +160,19 @@ public class Util {
     // ------------------------------------------------------------------------
     // Drawing related
     // ------------------------------------------------------------------------
-    private static final Color prevColor = com.badlogic.gdx.graphics.Color.WHITE.cpy();
+
+    // Tinted draws write the tint into each vertex as a packed color and submit the quad directly,
+    // rather than setting the batch color and restoring it afterward. The batch color is left untouched
+    // and doesn't affect these draws; the tint replaces it, same as setting it would have.
+    // NinePatch draws are the exception: NinePatch always multiplies its own color with the batch color,
+    // so they tint through the patch color instead, and leave it set to the tint.
+
+    private static final int QUAD_SIZE = 20;
+
+    /**
+     * Scratch vertices for a single quad, only used from the render thread
+     */
+    private static final float[] quad = new float[QUAD_SIZE];
 
     // Circle convenience methods -------------------------
 
@@ -166,23 +181,22 @@ public class Util {
     }
 
     public static void draw(SpriteBatch batch, TextureRegion texture, Circle circle, Color tint, float scale) {
-        var x = circle.x;
-        var y = circle.y;
         var r = circle.radius * scale;
-        prevColor.set(batch.getColor());
-        batch.setColor(tint);
-        batch.draw(texture, x - r, y - r, 2 * r, 2 * r);
-        batch.setColor(prevColor);
+        draw(batch, texture, circle.x - r, circle.y - r, 0f, 0f, 2 * r, 2 * r, 1f, 1f, 0f, tint.toFloatBits());
     }
 
     // Rectangle convenience methods ----------------------
 
     public static void draw(SpriteBatch batch, TextureRegion texture, Rectangle rect) {
-        draw(batch, texture, rect, Color.WHITE);
+        draw(batch, texture, rect, Color.WHITE_FLOAT_BITS);
     }
 
     public static void draw(SpriteBatch batch, TextureRegion texture, Rectangle rect, Color tint) {
-        draw(batch, texture, rect, tint, 1f, 1f);
+        draw(batch, texture, rect, tint.toFloatBits());
+    }
+
+    public static void draw(SpriteBatch batch, TextureRegion texture, Rectangle rect, float packedColor) {
+        draw(batch, texture, rect.x, rect.y, 0f, 0f, rect.width, rect.height, 1f, 1f, 0f, packedColor);
     }
 
     public static void draw(SpriteBatch batch, TextureRegion texture, Rectangle rect, Color tint, float scaleX, float scaleY) {
@@ -190,14 +204,7 @@ public class Util {
     }
 
     public static void draw(SpriteBatch batch, TextureRegion texture, Rectangle rect, Color tint, float ox, float oy, float sx, float sy, float rot) {
-        var x = rect.x;
-        var y = rect.y;
-        var h = rect.height;
-        var w = rect.width;
-        prevColor.set(batch.getColor());
-        batch.setColor(tint);
-        batch.draw(texture, x, y, ox, oy, w, h, sx, sy, rot);
-        batch.setColor(prevColor);
+        draw(batch, texture, rect.x, rect.y, ox, oy, rect.width, rect.height, sx, sy, rot, tint.toFloatBits());
     }
 
     public static void draw(SpriteBatch batch, NinePatch ninePatch, Rectangle rect) {
@@ -213,13 +220,86 @@ public class Util {
     }
 
     public static void draw(SpriteBatch batch, NinePatch ninePatch, Rectangle rect, Color tint, float ox, float oy, float sx, float sy, float rot) {
-        var x = rect.x;
-        var y = rect.y;
-        var h = rect.height;
-        var w = rect.width;
-        prevColor.set(batch.getColor());
-        batch.setColor(tint);
-        ninePatch.draw(batch, x, y, ox, oy, w, h, sx, sy, rot);
-        batch.setColor(prevColor);
+        // nine patches are shared assets, so the tint only applies to this draw
+        previousPatchColor.set(ninePatch.getColor());
+        ninePatch.setColor(tint);
+        ninePatch.draw(batch, rect.x, rect.y, ox, oy, rect.width, rect.height, sx, sy, rot);
+        ninePatch.setColor(previousPatchColor);
+    }
+
+    // Packed color quads ---------------------------------
+
+    /**
+     * Draw a region with the same placement as {@link SpriteBatch#draw(TextureRegion, float, float, float, float, float, float, float, float, float)},
+     * tinted with a packed color (see {@link Color#toFloatBits()}) instead of the batch color
+     */
+    public static void draw(SpriteBatch batch, TextureRegion region,
+                            float x, float y, float ox, float oy, float w, float h,
+                            float sx, float sy, float rot, float packedColor) {
+        float x1, y1, x2, y2, x3, y3, x4, y4;
+        if (rot == 0 && sx == 1 && sy == 1) {
+            // common case, an axis aligned quad needs no transform
+            x1 = x;     y1 = y;
+            x2 = x;     y2 = y + h;
+            x3 = x + w; y3 = y + h;
+            x4 = x + w; y4 = y;
+        } else {
+            // corners relative to the origin, scaled
+            var worldOriginX = x + ox;
+            var worldOriginY = y + oy;
+            var fx = -ox * sx;
+            var fy = -oy * sy;
+            var fx2 = (w - ox) * sx;
+            var fy2 = (h - oy) * sy;
+            if (rot != 0) {
+                var cos = MathUtils.cosDeg(rot);
+                var sin = MathUtils.sinDeg(rot);
+                x1 = cos * fx - sin * fy;
+                y1 = sin * fx + cos * fy;
+                x2 = cos * fx - sin * fy2;
+                y2 = sin * fx + cos * fy2;
+                x3 = cos * fx2 - sin * fy2;
+                y3 = sin * fx2 + cos * fy2;
+                x4 = x1 + (x3 - x2);
+                y4 = y3 - (y2 - y1);
+            } else {
+                x1 = fx;  y1 = fy;
+                x2 = fx;  y2 = fy2;
+                x3 = fx2; y3 = fy2;
+                x4 = fx2; y4 = fy;
+            }
+            x1 += worldOriginX; y1 += worldOriginY;
+            x2 += worldOriginX; y2 += worldOriginY;
+            x3 += worldOriginX; y3 += worldOriginY;
+            x4 += worldOriginX; y4 += worldOriginY;
+        }
+
+        var u = region.getU();
+        var v = region.getV2();
+        var u2 = region.getU2();
+        var v2 = region.getV();
+        quad(batch, region.getTexture(), x1, y1, x2, y2, x3, y3, x4, y4, u, v, u2, v2, packedColor);
+    }
+
+    /**
+     * Draw an axis aligned texture with explicit texture coordinates, same as
+     * {@link SpriteBatch#draw(Texture, float, float, float, float, float, float, float, float)},
+     * tinted with a packed color instead of the batch color
+     */
+    public static void draw(SpriteBatch batch, Texture texture,
+                            float x, float y, float w, float h,
+                            float u, float v, float u2, float v2, float packedColor) {
+        quad(batch, texture, x, y, x, y + h, x + w, y + h, x + w, y, u, v, u2, v2, packedColor);
+    }
+
+    private static void quad(SpriteBatch batch, Texture texture,
+                             float x1, float y1, float x2, float y2, float x3, float y3, float x4, float y4,
+                             float u, float v, float u2, float v2, float color) {
+        var verts = quad;
+        verts[0]  = x1; verts[1]  = y1; verts[2]  = color; verts[3]  = u;  verts[4]  = v;
+        verts[5]  = x2; verts[6]  = y2; verts[7]  = color; verts[8]  = u;  verts[9]  = v2;
+        verts[10] = x3; verts[11] = y3; verts[12] = color; verts[13] = u2; verts[14] = v2;
+        verts[15] = x4; verts[16] = y4; verts[17] = color; verts[18] = u2; verts[19] = v;
+        batch.draw(texture, verts, 0, QUAD_SIZE);
     }
 }
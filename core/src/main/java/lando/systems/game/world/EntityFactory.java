@@ -1,7 +1,10 @@
 package lando.systems.game.world;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import lando.systems.game.assets.Anims;
 import lando.systems.game.assets.Icons;
 import lando.systems.game.assets.Patches;
@@ -9,12 +12,17 @@ import lando.systems.game.scene.Scene;
 import lando.systems.game.scene.components.*;
 import lando.systems.game.scene.framework.Component;
 import lando.systems.game.scene.framework.Entity;
+import lando.systems.game.scene.maps.BinaryMap;
+import lando.systems.game.scene.maps.BinaryMapSource;
+import lando.systems.game.scene.maps.TmxChunkSource;
 import lando.systems.game.screens.BaseScreen;
 import lando.systems.game.utils.Time;
 import lando.systems.game.utils.Util;
 
 public class EntityFactory {
 
+    private static final String TAG = EntityFactory.class.getSimpleName();
+
     public static Entity heart(Scene<? extends BaseScreen> scene, float x, float y) {
         var entity = scene.createEntity();
 
@@ -42,6 +50,7 @@ public class EntityFactory {
             // change the image/tint to indicate a hit
             image.set(heartBroken);
             image.tint.set(tintBroken);
+            image.markDirty();
 
             // change the image back to normal after a bit and self-destruct the timer
             var hitDuration = 0.2f;
@@ -51,6 +60,7 @@ public class EntityFactory {
                 new Timer(entity, hitDuration, () -> {
                     image.set(heartFull);
                     image.tint.set(tintFull);
+                    image.markDirty();
                     entity.destroy(Timer.class);
                 });
             } else {
@@ -66,16 +76,20 @@ public class EntityFactory {
                 case LEFT, RIGHT: {
                     mover.invertX();
                     image.scale.set(0.66f, 1.33f);
+                    image.markDirty();
                     if (hitPatch != null) {
                         hitPatch.scale.set(1.33f, 1f);
+                        hitPatch.markDirty();
                     }
                 }
                 break;
                 case UP, DOWN: {
                     mover.invertY();
                     image.scale.set(1.33f, 0.66f);
+                    image.markDirty();
                     if (hitPatch != null) {
                         hitPatch.scale.set(1f, 1.33f);
+                        hitPatch.markDirty();
                     }
                 }
                 break;
@@ -111,10 +125,12 @@ public class EntityFactory {
                 case LEFT, RIGHT: {
                     mover.invertX();
                     image.scale.set(0.66f, 1.33f);
+                    image.markDirty();
                 } break;
                 case UP, DOWN: {
                     mover.invertY();
                     image.scale.set(1.33f, 0.66f);
+                    image.markDirty();
                 } break;
             }
         });
@@ -153,6 +169,7 @@ public class EntityFactory {
                     // do an 'oof'
                     Time.pause_for(0.1f);
                     animator.scale.scl(0.66f, 1.33f);
+                    animator.markDirty();
 
                     // take a moment to recover
                     // NOTE(brian): example use of Timer component for rudimentary game logic, 'self-destructing' when complete
@@ -208,8 +225,7 @@ public class EntityFactory {
 
                 var font = textParams.fontType.getFont(textParams.fontVariant);
                 var assets = entity.scene.screen.assets;
-                var layout = assets.layout;
-                layout.setText(font, textParams.text);
+                var layout = textParams.layout(assets.layouts);
                 font.draw(batch, layout,
                     position.x() - layout.width / 2f,
                     position.y() + animator.size.y);
@@ -219,6 +235,31 @@ public class EntityFactory {
         return entity;
     }
 
+    public static Entity sparks(Scene<? extends BaseScreen> scene, float x, float y) {
+        var entity = scene.createEntity();
+
+        new Position(entity, x, y);
+
+        var assets = scene.screen.assets;
+        var region = assets.atlas.findRegion("objects/circle");
+        var emitter = new ParticleEmitter(entity, region, 10_000);
+        emitter.rate = 2000f;
+        emitter.angleMin = 60f;
+        emitter.angleMax = 120f;
+        emitter.speedMin = 150f;
+        emitter.speedMax = 300f;
+        emitter.lifetimeMin = 1f;
+        emitter.lifetimeMax = 2f;
+        emitter.gravityY = -300f;
+        emitter.drag = 0.5f;
+        emitter.startColor.set(Color.GOLD);
+        emitter.endColor.set(1f, 0.2f, 0f, 0f);
+        emitter.startScale = 6f / region.getRegionWidth();
+        emitter.endScale = 1f / region.getRegionWidth();
+
+        return entity;
+    }
+
     public static Entity boundary(Scene<? extends BaseScreen> scene, float x, float y, float w, float h) {
         var entity = scene.createEntity();
 
@@ -226,7 +267,8 @@ public class EntityFactory {
         var halfHeight = h / 2f;
 
         new Position(entity, x + halfWidth, y + halfHeight);
-        Collider.makeRect(entity, Collider.Mask.solid, -halfWidth, -halfHeight, w, h);
+        Collider.makeRect(entity, Collider.Mask.solid, -halfWidth, -halfHeight, w, h)
+            .setStatic(true);
 
         var patch = new Patch(entity, Patches.Type.PLAIN);
         patch.origin.set(halfWidth, halfHeight);
@@ -246,15 +288,66 @@ public class EntityFactory {
 
         new Position(entity, x, y);
 
-        var tilemap = new Tilemap(entity, tmxFilePath, scene.screen.worldCamera,  scene.screen.batch);
-        tilemap.makeGridCollider(collisionLayer);
+        // prefer the compiled map if the build produced an up to date one, so the tmx isn't parsed at all
+        var compiled = compiledMap(tmxFilePath);
+        var tilemap = (compiled != null)
+            ? new Tilemap(entity, compiled, scene.screen.worldCamera, scene.screen.batch)
+            : new Tilemap(entity, tmxFilePath, scene.screen.worldCamera, scene.screen.batch);
         tilemap.makeBoundary();
+        tilemap.makeParallax();
+
+        if (compiled != null) {
+            compiled.makeGridCollider(entity, collisionLayer);
+        } else {
+            tilemap.makeGridCollider(collisionLayer);
+        }
 
         DebugRender.makeForShapes(entity, DebugRender.DRAW_POSITION_AND_COLLIDER);
 
         return entity;
     }
 
+    /**
+     * Create a map that streams in chunks around the world camera instead of loading all at once,
+     * a {@link Boundary} is attached once the map size is known
+     */
+    public static Entity streamingMap(Scene<? extends BaseScreen> scene, float x, float y, String tmxFilePath, String collisionLayer) {
+        var entity = scene.createEntity();
+
+        new Position(entity, x, y);
+
+        var compiled = compiledMap(tmxFilePath);
+        var source = (compiled != null) ? new BinaryMapSource(compiled) : new TmxChunkSource(tmxFilePath);
+        var tilemap = new StreamingTilemap(entity, source, collisionLayer, scene.screen.worldCamera, 1, 2);
+        tilemap.onReady = () -> new Boundary(entity, tilemap.bounds(new Rectangle()));
+
+        DebugRender.makeForShapes(entity, DebugRender.DRAW_POSITION_AND_COLLIDER);
+
+        return entity;
+    }
+
+    /**
+     * Load the map that the headless {@code MapCompiler} writes for the specified tmx file,
+     * unless it doesn't exist, was written by an older compiler, or the map was edited after it was compiled
+     *
+     * @return the compiled map, or null if the tmx file should be loaded instead
+     */
+    private static BinaryMap compiledMap(String tmxFilePath) {
+        var file = Gdx.files.internal(tmxFilePath.replaceAll("\\.tmx$", "." + BinaryMap.EXTENSION));
+        if (!file.exists()) return null;
+
+        try {
+            var compiled = BinaryMap.load(file);
+            if (compiled.isCurrent()) {
+                return compiled;
+            }
+            Util.log(TAG, "compiled map '%s' is older than its sources, loading the tmx instead".formatted(file.path()));
+        } catch (GdxRuntimeException e) {
+            Util.log(TAG, "unable to use compiled map '%s', loading the tmx instead: %s".formatted(file.path(), e.getMessage()));
+        }
+        return null;
+    }
+
     public static Entity cam(Scene<?> scene, Boundary boundary) {
         var entity = scene.createEntity();
 
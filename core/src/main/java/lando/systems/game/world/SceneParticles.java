@@ -0,0 +1,25 @@
+package lando.systems.game.world;
+
+import lando.systems.game.scene.Scene;
+import lando.systems.game.scene.components.ParticleEmitter;
+import lando.systems.game.screens.GameScreen;
+
+/**
+ * Stress test for {@link ParticleEmitter}, a fountain of a few thousand live sparks,
+ * kept out of the other scenes so their frame times and draw counts aren't dominated by it
+ */
+public class SceneParticles extends Scene<GameScreen> {
+
+    /**
+     * Fixed so runs spawn the same particles, given the same frame timing
+     */
+    public static final long SEED = 42L;
+
+    public SceneParticles(GameScreen screen) {
+        super(screen);
+
+        var camera = screen.worldCamera;
+        var sparks = EntityFactory.sparks(this, camera.viewportWidth / 2, 70f);
+        sparks.get(ParticleEmitter.class).seed(SEED);
+    }
+}
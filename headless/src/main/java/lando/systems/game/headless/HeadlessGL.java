@@ -0,0 +1,64 @@
+package lando.systems.game.headless;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * {@link GL20} that does nothing, for creating textures, shaders and batches under the headless backend,
+ * which otherwise has no GL at all.
+ * <p>
+ * Every call is a no-op returning zero, except where libGDX checks the result:
+ * shaders always compile and link, object handles are unique, and framebuffers are complete.
+ */
+public class HeadlessGL {
+
+    private static final String TAG = HeadlessGL.class.getSimpleName();
+
+    private static int handles = 0;
+
+    /**
+     * Install a no-op GL for {@link Gdx#gl} and {@link Gdx#gl20}, call from the headless application's {@code create}
+     */
+    public static GL20 install() {
+        var gl = create();
+        Gdx.gl = gl;
+        Gdx.gl20 = gl;
+        if (Gdx.graphics instanceof MockGraphics graphics) {
+            graphics.setGL20(gl);
+        }
+        Gdx.app.log(TAG, "Installed no-op GL20");
+        return gl;
+    }
+
+    public static GL20 create() {
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{ GL20.class },
+            (proxy, method, args) -> switch (method.getName()) {
+                case "glGetShaderiv", "glGetProgramiv" -> {
+                    var pname = (int) args[1];
+                    var status = (pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS) ? 1 : 0;
+                    ((IntBuffer) args[2]).put(0, status);
+                    yield null;
+                }
+                case "glCheckFramebufferStatus" -> GL20.GL_FRAMEBUFFER_COMPLETE;
+                case "glGenTexture", "glGenBuffer", "glGenFramebuffer", "glGenRenderbuffer",
+                     "glCreateShader", "glCreateProgram" -> ++handles;
+                case "glGetShaderInfoLog", "glGetProgramInfoLog", "glGetString",
+                     "glGetActiveUniform", "glGetActiveAttrib" -> "";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> TAG;
+                default -> defaultValue(method.getReturnType());
+            });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == int.class) return 0;
+        if (type == boolean.class) return false;
+        if (type == float.class) return 0f;
+        return null;
+    }
+}
@@ -4,15 +4,44 @@ import com.badlogic.gdx.Application;
 import com.badlogic.gdx.backends.headless.HeadlessApplication;
 import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
 
+import java.util.Arrays;
+
 /**
  * Launches the headless application. Can be converted into a utilities project or a server application.
  */
 public class HeadlessLauncher {
+
+    /**
+     * First argument that selects the {@link MapCompiler} instead of the default {@link AsepritePacker}
+     */
+    private static final String COMPILE_MAPS = "compile-maps";
+
+    /**
+     * First argument that selects {@link RenderBudgets}
+     */
+    private static final String RENDER_BUDGETS = "render-budgets";
+
+    /**
+     * First argument that selects {@link TileFlipCheck}
+     */
+    private static final String TILE_FLIPS = "tile-flips";
+
     public static void main(String[] args) {
         createApplication(args);
     }
 
     private static Application createApplication(String[] args) {
+        if (args.length > 0 && args[0].equals(COMPILE_MAPS)) {
+            var mapArgs = Arrays.copyOfRange(args, 1, args.length);
+            return new HeadlessApplication(new MapCompiler(mapArgs), getDefaultConfiguration());
+        }
+        if (args.length > 0 && args[0].equals(RENDER_BUDGETS)) {
+            var budgetArgs = Arrays.copyOfRange(args, 1, args.length);
+            return new HeadlessApplication(new RenderBudgets(budgetArgs), getDefaultConfiguration());
+        }
+        if (args.length > 0 && args[0].equals(TILE_FLIPS)) {
+            return new HeadlessApplication(new TileFlipCheck(), getDefaultConfiguration());
+        }
         return new HeadlessApplication(new AsepritePacker(args), getDefaultConfiguration());
         // Note: you can use a custom ApplicationListener implementation for the headless project instead of Main.
 //        return new HeadlessApplication(new Main(), getDefaultConfiguration());
@@ -0,0 +1,412 @@
+package lando.systems.game.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.XmlReader;
+import lando.systems.game.scene.maps.BinaryMap;
+import lando.systems.game.scene.maps.MapChunkSource;
+import lando.systems.game.scene.maps.TmxChunkSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Compiles each {@code .tmx} file under a source directory into the {@link BinaryMap} format,
+ * so scenes can load tile data, collision and spawns without parsing XML at runtime.
+ * Output files mirror the source directory structure, with a {@code .gmap} extension.
+ * Run by the game build through the headless {@code compileMaps} task, before resources are processed.
+ */
+public class MapCompiler extends ApplicationAdapter {
+
+    private static final String TAG = MapCompiler.class.getSimpleName();
+
+    private static class Defaults {
+        private static final String MAP_SOURCE_DIR = "../assets/maps";
+        private static final String MAP_DEST_DIR = "../assets/maps";
+    }
+
+    private record PathArgs(Path mapSource, Path mapDest) {
+        @Override
+        public String toString() {
+            return """
+                PathArgs[
+                    mapSource: %s
+                    mapDest: %s
+                ]""".formatted(mapSource, mapDest);
+        }
+    }
+
+    private record Layer(MapChunkSource.Layer info, int[] gids) {}
+
+    private record Tables(int sourceHash, List<String> sourcePaths, List<String> imagePaths,
+                          List<Layer> layers, List<BinaryMap.ImageLayer> imageLayers, List<BinaryMap.Spawn> spawns) {}
+
+    private final String[] args;
+
+    public MapCompiler(String[] args) {
+        this.args = args;
+    }
+
+    @Override
+    public void create() {
+        process();
+    }
+
+    private PathArgs parseArgs(String[] args) {
+        var mapSrcDir = Defaults.MAP_SOURCE_DIR;
+        var mapOutputDir = Defaults.MAP_DEST_DIR;
+
+        // parse out compile params from args
+        //@formatter:off
+        switch (args.length) {
+            case 2: mapOutputDir = args[1];
+            case 1: mapSrcDir = args[0];
+            case 0: break;
+            default: {
+                Gdx.app.log(TAG, """
+                Usage: [map-source-dir] [map-dest-dir]
+                Defaults:
+                  - map-source-dir: ../assets/maps
+                  - map-dest-dir: ../assets/maps
+                """);
+                Gdx.app.exit();
+            }
+        }
+        //@formatter:on
+
+        var pathArgs = new PathArgs(
+            Path.of(mapSrcDir).toAbsolutePath().normalize(),
+            Path.of(mapOutputDir).toAbsolutePath().normalize()
+        );
+        Gdx.app.log(TAG, "Starting MapCompiler");
+        Gdx.app.log(TAG, pathArgs.toString());
+        return pathArgs;
+    }
+
+    private void process() {
+        var paths = parseArgs(args);
+
+        var tmxFiles = new ArrayList<FileHandle>();
+        collectTmxFiles(Gdx.files.absolute(paths.mapSource.toString()), tmxFiles);
+        for (var tmxFile : tmxFiles) {
+            var relative = paths.mapSource.relativize(Path.of(tmxFile.path()));
+            var outName = relative.toString().replaceAll("\\.tmx$", "." + BinaryMap.EXTENSION);
+            var outFile = Gdx.files.absolute(paths.mapDest.resolve(outName).toString());
+            compile(tmxFile, outFile);
+            Gdx.app.log(TAG, "Compiled %s -> %s".formatted(relative, outName));
+        }
+
+        Gdx.app.log(TAG, "Processing complete, %d maps compiled".formatted(tmxFiles.size()));
+        Gdx.app.exit();
+    }
+
+    private static void collectTmxFiles(FileHandle dir, List<FileHandle> out) {
+        for (var file : dir.list()) {
+            if (file.isDirectory()) {
+                collectTmxFiles(file, out);
+            } else if (file.extension().equals("tmx")) {
+                out.add(file);
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Compilation
+    // ------------------------------------------------------------------------
+
+    private void compile(FileHandle tmxFile, FileHandle outFile) {
+        var source = new TmxChunkSource(tmxFile);
+        var header = source.open();
+        var cols = header.cols();
+        var rows = header.rows();
+        var root = new XmlReader().parse(tmxFile);
+
+        var layers = new ArrayList<Layer>();
+        for (int i = 0; i < header.layers().size(); i++) {
+            var gids = source.read(i, 0, 0, cols, rows, new int[cols * rows]);
+            layers.add(new Layer(header.layers().get(i), gids));
+        }
+
+        // everything the compiled data depends on, hashed so the game can tell when the map was edited since
+        var sources = new ArrayList<FileHandle>();
+        sources.add(tmxFile);
+        for (var tileset : root.getChildrenByName("tileset")) {
+            var tilesetSource = tileset.getAttribute("source", null);
+            if (tilesetSource != null) {
+                sources.add(resolve(tmxFile, tilesetSource));
+            }
+        }
+        var spawns = readSpawns(tmxFile, root, header, sources);
+        var imageLayers = readImageLayers(tmxFile, root, header);
+
+        // paths are stored relative to the compiled map's directory
+        var outDir = Path.of(outFile.parent().path());
+        var sourcePaths = new ArrayList<String>();
+        for (var file : sources) {
+            sourcePaths.add(relative(outDir, file.path()));
+        }
+        var imagePaths = new ArrayList<String>();
+        for (var tileset : header.tilesets()) {
+            imagePaths.add(relative(outDir, tileset.imagePath()));
+        }
+        var tables = new Tables(BinaryMap.hash(sources), sourcePaths, imagePaths, layers, imageLayers, spawns);
+
+        // tables first, measured with a scratch pass since they hold offsets into the data section
+        var scratch = ByteBuffer.allocate(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        writeTables(scratch, header, tables, outDir, 0);
+        var dataStart = align(scratch.position());
+        var total = dataStart;
+        for (var layer : layers) {
+            total += align(cols * rows * bytesPerTile(layer)) + bitsetLongs(cols, rows) * 8;
+        }
+
+        var out = ByteBuffer.allocate(total).order(ByteOrder.LITTLE_ENDIAN);
+        writeTables(out, header, tables, outDir, dataStart);
+        out.position(dataStart);
+        for (var layer : layers) {
+            writeLayerData(out, layer, cols, rows);
+        }
+
+        outFile.writeBytes(out.array(), false);
+    }
+
+    private static void writeTables(ByteBuffer out, MapChunkSource.Header header, Tables tables, Path outDir, int dataStart) {
+        var cols = header.cols();
+        var rows = header.rows();
+
+        out.putInt(BinaryMap.MAGIC);
+        out.putInt(BinaryMap.VERSION);
+        out.putInt(tables.sourceHash);
+        out.putInt(cols);
+        out.putInt(rows);
+        out.putInt(header.tileSize());
+        out.putInt(tables.sourcePaths.size());
+        out.putInt(header.tilesets().size());
+        out.putInt(tables.layers.size());
+        out.putInt(tables.imageLayers.size());
+        out.putInt(tables.spawns.size());
+
+        for (var path : tables.sourcePaths) {
+            putString(out, path);
+        }
+
+        for (int i = 0; i < header.tilesets().size(); i++) {
+            var tileset = header.tilesets().get(i);
+            out.putInt(tileset.firstGid());
+            out.putInt(tileset.tileWidth());
+            out.putInt(tileset.tileHeight());
+            out.putInt(tileset.spacing());
+            out.putInt(tileset.margin());
+            out.putInt(tileset.columns());
+            out.putInt(tileset.tileCount());
+            putString(out, tables.imagePaths.get(i));
+        }
+
+        var offset = dataStart;
+        for (var layer : tables.layers) {
+            var bytesPerTile = bytesPerTile(layer);
+            var tilesOffset = offset;
+            var solidOffset = tilesOffset + align(cols * rows * bytesPerTile);
+            offset = solidOffset + bitsetLongs(cols, rows) * 8;
+
+            putString(out, layer.info.name());
+            out.putInt(layer.info.visible() ? 1 : 0);
+            out.putFloat(layer.info.opacity());
+            out.putInt(bytesPerTile);
+            out.putInt(tilesOffset);
+            out.putInt(solidOffset);
+        }
+
+        for (var image : tables.imageLayers) {
+            putString(out, image.name());
+            putString(out, relative(outDir, image.imagePath()));
+            out.putFloat(image.x());
+            out.putFloat(image.y());
+            out.putFloat(image.parallaxX());
+            out.putFloat(image.parallaxY());
+            out.putFloat(image.opacity());
+        }
+
+        for (var spawn : tables.spawns) {
+            putString(out, spawn.name());
+            putString(out, spawn.type());
+            out.putFloat(spawn.x());
+            out.putFloat(spawn.y());
+            out.putFloat(spawn.width());
+            out.putFloat(spawn.height());
+            out.putInt(spawn.properties().size());
+            for (var entry : spawn.properties().entrySet()) {
+                putString(out, entry.getKey());
+                putString(out, entry.getValue());
+            }
+        }
+    }
+
+    private static void writeLayerData(ByteBuffer out, Layer layer, int cols, int rows) {
+        var start = out.position();
+        if (bytesPerTile(layer) == 2) {
+            for (var gid : layer.gids) {
+                var flags = (gid & ~MapChunkSource.GID_MASK) >>> 16;
+                out.putShort((short) ((gid & MapChunkSource.GID_MASK) | flags));
+            }
+        } else {
+            for (var gid : layer.gids) {
+                out.putInt(gid);
+            }
+        }
+        out.position(start + align(out.position() - start));
+
+        var bits = new long[bitsetLongs(cols, rows)];
+        for (int i = 0; i < layer.gids.length; i++) {
+            if ((layer.gids[i] & MapChunkSource.GID_MASK) != 0) {
+                bits[i >>> 6] |= 1L << (i & 63);
+            }
+        }
+        for (var word : bits) {
+            out.putLong(word);
+        }
+    }
+
+    /**
+     * Read objects from every object group, converted to y up like {@link com.badlogic.gdx.maps.tiled.TmxMapLoader} does.
+     * Template files the objects use are added to the sources.
+     */
+    private static List<BinaryMap.Spawn> readSpawns(FileHandle tmxFile, XmlReader.Element root,
+                                                    MapChunkSource.Header header, List<FileHandle> sources) {
+        var mapHeight = header.rows() * header.tileSize();
+
+        var spawns = new ArrayList<BinaryMap.Spawn>();
+        for (var group : root.getChildrenByNameRecursively("objectgroup")) {
+            for (var object : group.getChildrenByName("object")) {
+                // template objects supply defaults for anything the instance doesn't override
+                XmlReader.Element template = null;
+                var templatePath = object.getAttribute("template", null);
+                if (templatePath != null) {
+                    var templateFile = resolve(tmxFile, templatePath);
+                    if (!sources.contains(templateFile)) {
+                        sources.add(templateFile);
+                    }
+                    template = new XmlReader().parse(templateFile).getChildByName("object");
+                }
+
+                var name = attribute(object, template, "name", "");
+                var type = attribute(object, template, "type", attribute(object, template, "class", ""));
+                var x = Float.parseFloat(attribute(object, template, "x", "0"));
+                var y = Float.parseFloat(attribute(object, template, "y", "0"));
+                var width = Float.parseFloat(attribute(object, template, "width", "0"));
+                var height = Float.parseFloat(attribute(object, template, "height", "0"));
+
+                // tile objects are anchored at their bottom left in tiled, everything else at the top left
+                var isTile = attribute(object, template, "gid", null) != null;
+                var flippedY = isTile ? mapHeight - y : mapHeight - y - height;
+
+                var properties = new LinkedHashMap<String, String>();
+                readProperties(template, properties);
+                readProperties(object, properties);
+
+                spawns.add(new BinaryMap.Spawn(name, type, x, flippedY, width, height, properties));
+            }
+        }
+        return spawns;
+    }
+
+    /**
+     * Read top level image layers, placed y up like {@link com.badlogic.gdx.maps.tiled.TmxMapLoader} does
+     */
+    private static List<BinaryMap.ImageLayer> readImageLayers(FileHandle tmxFile, XmlReader.Element root,
+                                                              MapChunkSource.Header header) {
+        var mapHeight = header.rows() * header.tileSize();
+
+        var imageLayers = new ArrayList<BinaryMap.ImageLayer>();
+        for (var element : root.getChildrenByName("imagelayer")) {
+            var image = element.getChildByName("image");
+            if (image == null) continue;
+
+            var imageFile = resolve(tmxFile, image.getAttribute("source"));
+            var imageHeight = image.getIntAttribute("height", 0);
+            if (imageHeight == 0) {
+                var pixmap = new Pixmap(imageFile);
+                imageHeight = pixmap.getHeight();
+                pixmap.dispose();
+            }
+
+            var x = element.getFloatAttribute("offsetx", element.getFloatAttribute("x", 0f));
+            var y = element.getFloatAttribute("offsety", element.getFloatAttribute("y", 0f));
+            imageLayers.add(new BinaryMap.ImageLayer(
+                element.getAttribute("name", ""),
+                imageFile.path(),
+                x, mapHeight - y - imageHeight,
+                element.getFloatAttribute("parallaxx", 1f),
+                element.getFloatAttribute("parallaxy", 1f),
+                element.getFloatAttribute("opacity", 1f)));
+        }
+        return imageLayers;
+    }
+
+    private static String attribute(XmlReader.Element object, XmlReader.Element template, String name, String defaultValue) {
+        var value = object.getAttribute(name, null);
+        if (value == null && template != null) {
+            value = template.getAttribute(name, null);
+        }
+        return (value != null) ? value : defaultValue;
+    }
+
+    private static void readProperties(XmlReader.Element object, LinkedHashMap<String, String> out) {
+        if (object == null) return;
+
+        var properties = object.getChildByName("properties");
+        if (properties == null) return;
+
+        for (var property : properties.getChildrenByName("property")) {
+            var value = property.getAttribute("value", property.getText());
+            out.put(property.getAttribute("name"), (value != null) ? value : "");
+        }
+    }
+
+    /**
+     * Resolve a path relative to the directory containing the specified file
+     */
+    private static FileHandle resolve(FileHandle file, String path) {
+        var resolved = Path.of(file.parent().path()).resolve(path).toAbsolutePath().normalize();
+        return Gdx.files.absolute(resolved.toString());
+    }
+
+    private static String relative(Path dir, String path) {
+        var absolute = Path.of(path).toAbsolutePath().normalize();
+        return dir.relativize(absolute).toString().replace('\\', '/');
+    }
+
+    private static int bytesPerTile(Layer layer) {
+        for (var gid : layer.gids) {
+            if ((gid & MapChunkSource.GID_MASK) > BinaryMap.MAX_SHORT_GID) {
+                return 4;
+            }
+        }
+        return 2;
+    }
+
+    private static int bitsetLongs(int cols, int rows) {
+        return (cols * rows + 63) / 64;
+    }
+
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (out.remaining() < bytes.length + 4) {
+            throw new GdxRuntimeException("Map tables too large to compile");
+        }
+        out.putInt(bytes.length);
+        out.put(bytes);
+    }
+}
@@ -0,0 +1,253 @@
+package lando.systems.game.headless;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import lando.systems.game.utils.RenderStats;
+import lando.systems.game.utils.StatsSpriteBatch;
+
+/**
+ * {@link StatsSpriteBatch} that also records every flush that reaches GL as a {@link Command}:
+ * the texture drawn, how many vertices, and what caused the flush.
+ * <p>
+ * Meant for the headless backend with {@link HeadlessGL}, where nothing is actually drawn
+ * but the batch goes through exactly the same flushes it would on a real GPU.
+ * Draws made outside the batch (eg. baked tile chunks) aren't recorded,
+ * but the batch end and begin around them show up as {@link Reason#END} flushes.
+ */
+public class RecordingBatch extends StatsSpriteBatch {
+
+    private static final int VERTEX_SIZE = 5;
+    private static final int QUAD_SIZE = 4 * VERTEX_SIZE;
+    private static final int DEFAULT_SIZE = 1000;
+
+    public enum Reason {
+        //@formatter:off
+          TEXTURE  // switched to a different texture
+        , SHADER   // switched shader
+        , BLEND    // changed blending
+        , MATRIX   // changed projection or transform matrix
+        , FULL     // vertex buffer ran out of room
+        , END      // batch ended
+        , EXPLICIT // flush() called directly
+        ;
+        //@formatter:on
+    }
+
+    public record Command(Texture texture, int vertices, Reason reason) {}
+
+    private final Array<Command> commands = new Array<>();
+    private final int capacity;
+
+    private Texture texture;
+    private Reason reason;
+    private int pendingFloats;
+    private boolean inDraw;
+    private int fullFlushesInDraw;
+
+    public RecordingBatch(RenderStats stats) {
+        super(stats);
+        this.capacity = DEFAULT_SIZE * QUAD_SIZE;
+    }
+
+    /**
+     * Commands recorded since the last {@link #clearCommands}
+     */
+    public Array<Command> commands() {
+        return commands;
+    }
+
+    public void clearCommands() {
+        commands.clear();
+    }
+
+    /**
+     * @return the number of recorded commands with the specified reason
+     */
+    public int count(Reason reason) {
+        int count = 0;
+        for (int i = 0; i < commands.size; i++) {
+            if (commands.get(i).reason == reason) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // ------------------------------------------------------------------------
+    // Flush tracking
+    // ------------------------------------------------------------------------
+
+    @Override
+    public void flush() {
+        Reason flushReason;
+        int floats;
+        if (reason != null) {
+            flushReason = reason;
+            floats = pendingFloats;
+            pendingFloats = 0;
+        } else if (inDraw) {
+            // a full buffer is always flushed with every vertex in use
+            flushReason = Reason.FULL;
+            floats = capacity;
+            fullFlushesInDraw++;
+        } else {
+            flushReason = Reason.EXPLICIT;
+            floats = pendingFloats;
+            pendingFloats = 0;
+        }
+
+        int calls = renderCalls;
+        super.flush();
+        if (renderCalls > calls) {
+            commands.add(new Command(texture, floats / VERTEX_SIZE, flushReason));
+        }
+    }
+
+    @Override
+    protected void switchTexture(Texture texture) {
+        flushFor(Reason.TEXTURE, () -> super.switchTexture(texture));
+        this.texture = texture;
+    }
+
+    @Override
+    public void end() {
+        flushFor(Reason.END, super::end);
+    }
+
+    @Override
+    public void setShader(ShaderProgram shader) {
+        flushFor(Reason.SHADER, () -> super.setShader(shader));
+    }
+
+    @Override
+    public void disableBlending() {
+        flushFor(Reason.BLEND, super::disableBlending);
+    }
+
+    @Override
+    public void enableBlending() {
+        flushFor(Reason.BLEND, super::enableBlending);
+    }
+
+    @Override
+    public void setBlendFunctionSeparate(int srcFuncColor, int dstFuncColor, int srcFuncAlpha, int dstFuncAlpha) {
+        flushFor(Reason.BLEND, () -> super.setBlendFunctionSeparate(srcFuncColor, dstFuncColor, srcFuncAlpha, dstFuncAlpha));
+    }
+
+    @Override
+    public void setProjectionMatrix(Matrix4 projection) {
+        flushFor(Reason.MATRIX, () -> super.setProjectionMatrix(projection));
+    }
+
+    @Override
+    public void setTransformMatrix(Matrix4 transform) {
+        flushFor(Reason.MATRIX, () -> super.setTransformMatrix(transform));
+    }
+
+    /**
+     * Attribute any flush the specified state change causes to the specified reason
+     */
+    private void flushFor(Reason flushReason, Runnable change) {
+        var previous = reason;
+        reason = flushReason;
+        try {
+            change.run();
+        } finally {
+            reason = previous;
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Vertex tracking
+    // ------------------------------------------------------------------------
+
+    private void beforeDraw() {
+        inDraw = true;
+        fullFlushesInDraw = 0;
+    }
+
+    private void afterDraw(int floats) {
+        // anything flushed for a full buffer took capacity worth of vertices with it
+        pendingFloats += floats - fullFlushesInDraw * capacity;
+        inDraw = false;
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float originX, float originY, float width, float height,
+                     float scaleX, float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight,
+                     boolean flipX, boolean flipY) {
+        beforeDraw();
+        super.draw(texture, x, y, originX, originY, width, height, scaleX, scaleY, rotation, srcX, srcY, srcWidth, srcHeight, flipX, flipY);
+        afterDraw(QUAD_SIZE);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height,
+                     int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+        beforeDraw();
+        super.draw(texture, x, y, width, height, srcX, srcY, srcWidth, srcHeight, flipX, flipY);
+        afterDraw(QUAD_SIZE);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+        beforeDraw();
+        super.draw(texture, x, y, srcX, srcY, srcWidth, srcHeight);
+        afterDraw(QUAD_SIZE);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+        beforeDraw();
+        super.draw(texture, x, y, width, height, u, v, u2, v2);
+        afterDraw(QUAD_SIZE);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height) {
+        beforeDraw();
+        super.draw(texture, x, y, width, height);
+        afterDraw(QUAD_SIZE);
+    }
+
+    @Override
+    public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+        beforeDraw();
+        super.draw(texture, spriteVertices, offset, count);
+        afterDraw(count);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float width, float height) {
+        beforeDraw();
+        super.draw(region, x, y, width, height);
+        afterDraw(QUAD_SIZE);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY,
+                     float width, float height, float scaleX, float scaleY, float rotation) {
+        beforeDraw();
+        super.draw(region, x, y, originX, originY, width, height, scaleX, scaleY, rotation);
+        afterDraw(QUAD_SIZE);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY,
+                     float width, float height, float scaleX, float scaleY, float rotation, boolean clockwise) {
+        beforeDraw();
+        super.draw(region, x, y, originX, originY, width, height, scaleX, scaleY, rotation, clockwise);
+        afterDraw(QUAD_SIZE);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float width, float height, Affine2 transform) {
+        beforeDraw();
+        super.draw(region, width, height, transform);
+        afterDraw(QUAD_SIZE);
+    }
+}
@@ -0,0 +1,191 @@
+package lando.systems.game.headless;
+
+import aurelienribon.tweenengine.TweenManager;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.MathUtils;
+import lando.systems.game.Config;
+import lando.systems.game.Main;
+import lando.systems.game.assets.Assets;
+import lando.systems.game.scene.Scene;
+import lando.systems.game.screens.GameScreen;
+import lando.systems.game.utils.Time;
+import lando.systems.game.world.SceneParticles;
+import lando.systems.game.world.ScenePlatformer;
+import lando.systems.game.world.SceneTest;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Runs scenes headless for a fixed number of frames, recording what {@code Scene.render} sends to the batch
+ * through a {@link RecordingBatch}, and checks the worst frame against a draw call and flush budget per scene.
+ * <p>
+ * A draw call is any flush that reached GL. Flushes are the ones that interrupt a frame partway through,
+ * so everything except the flush when the batch ends. Exits with a non-zero status if any scene is over budget,
+ * so it can gate a CI build with no GPU.
+ */
+public class RenderBudgets extends ApplicationAdapter {
+
+    private static final String TAG = RenderBudgets.class.getSimpleName();
+
+    private static final float STEP = 1 / 60f;
+    private static final int DEFAULT_FRAMES = 120;
+
+    /**
+     * Frames at the start of a run that aren't measured, while things spawn in and settle
+     */
+    private static final int WARMUP_FRAMES = 10;
+
+    /**
+     * Shared random seed, reset before each scene is created so random content comes out the same every run.
+     * Particle emitters have their own generators, scenes seed those (eg. {@link SceneParticles#SEED}).
+     */
+    private static final long SEED = 1234L;
+
+    private record Budget(String name, Function<GameScreen, Scene<GameScreen>> scene, int maxDrawCalls, int maxFlushes) {}
+
+    // Budgets are the worst measured frame plus 50%, rounded up and at least one more, so small changes pass but
+    // a new texture or shader switch in every frame doesn't. Measured over 120 and 600 frames with the default
+    // config flags and fixed seeds, repeated runs give the same numbers:
+    //   SceneTest:       1 draw call,  0 flushes
+    //   ScenePlatformer: 2 draw calls, 1 flush
+    //   SceneParticles:  4 draw calls, 3 flushes (the sprite buffer filling up, ~2800 live particles once settled)
+    // Re-measure and update these when a scene's content changes on purpose.
+    private static final List<Budget> budgets = List.of(
+        new Budget("SceneTest", SceneTest::new, 2, 1),
+        new Budget("ScenePlatformer", ScenePlatformer::new, 3, 2),
+        new Budget("SceneParticles", SceneParticles::new, 6, 5)
+    );
+
+    private final String[] args;
+
+    public RenderBudgets(String[] args) {
+        this.args = args;
+    }
+
+    @Override
+    public void create() {
+        var frames = parseFrames(args);
+        HeadlessGL.install();
+
+        // enough of Main for screens and scenes to be created, without starting on a screen
+        var game = new Main();
+        Time.init();
+        game.assets = new Assets(Assets.Load.SYNC, RecordingBatch::new);
+        game.tween = new TweenManager();
+        game.windowCamera = new OrthographicCamera();
+        game.windowCamera.setToOrtho(false, Config.window_width, Config.window_height);
+        game.windowCamera.update();
+
+        var batch = (RecordingBatch) game.assets.batch;
+        var failures = 0;
+        for (var budget : budgets) {
+            if (!run(budget, batch, frames)) {
+                failures++;
+            }
+        }
+
+        game.assets.dispose();
+        if (failures > 0) {
+            Gdx.app.error(TAG, "%d of %d scenes over budget".formatted(failures, budgets.size()));
+            System.exit(1);
+        }
+        Gdx.app.log(TAG, "All %d scenes within budget".formatted(budgets.size()));
+        Gdx.app.exit();
+    }
+
+    private static int parseFrames(String[] args) {
+        if (args.length == 0) {
+            return DEFAULT_FRAMES;
+        }
+        try {
+            return Math.max(WARMUP_FRAMES + 1, Integer.parseInt(args[0]));
+        } catch (NumberFormatException e) {
+            Gdx.app.log(TAG, """
+            Usage: [frames]
+            Defaults:
+              - frames: %d
+            """.formatted(DEFAULT_FRAMES));
+            return DEFAULT_FRAMES;
+        }
+    }
+
+    /**
+     * @return true if the scene stayed within budget for every measured frame
+     */
+    private boolean run(Budget budget, RecordingBatch batch, int frames) {
+        MathUtils.random.setSeed(SEED);
+        var screen = new GameScreen();
+        // the screen creates its default scene, which is replaced by the one being measured
+        screen.scene.dispose();
+        var scene = budget.scene.apply(screen);
+        screen.scene = scene;
+
+        var shapes = screen.assets.shapes;
+        var graphics = (Gdx.graphics instanceof MockGraphics mock) ? mock : null;
+        var worstDrawCalls = 0;
+        var worstFlushes = 0;
+        var worstFrame = -1;
+        var sprites = 0L;
+        for (int frame = 0; frame < frames; frame++) {
+            // culling and snapshot selection happen once per frame id
+            if (graphics != null) {
+                graphics.incrementFrameId();
+            }
+            scene.update(STEP);
+            screen.worldCamera.update();
+
+            batch.clearCommands();
+            batch.setProjectionMatrix(scene.renderCamera().combined);
+            batch.begin();
+            scene.render(batch);
+            scene.render(shapes);
+            batch.end();
+
+            if (frame < WARMUP_FRAMES) continue;
+
+            var commands = batch.commands();
+            var drawCalls = commands.size;
+            var flushes = drawCalls - batch.count(RecordingBatch.Reason.END);
+            for (int i = 0; i < commands.size; i++) {
+                sprites += commands.get(i).vertices() / 4;
+            }
+            if (drawCalls > worstDrawCalls || (drawCalls == worstDrawCalls && flushes > worstFlushes)) {
+                worstDrawCalls = drawCalls;
+                worstFlushes = flushes;
+                worstFrame = frame;
+            }
+        }
+        screen.dispose();
+
+        var measured = frames - WARMUP_FRAMES;
+        var withinBudget = worstDrawCalls <= budget.maxDrawCalls && worstFlushes <= budget.maxFlushes;
+        var report = "%s: worst frame %d, draw calls %d/%d, flushes %d/%d, avg sprites %d".formatted(
+            budget.name, worstFrame,
+            worstDrawCalls, budget.maxDrawCalls,
+            worstFlushes, budget.maxFlushes,
+            sprites / measured);
+        if (withinBudget) {
+            Gdx.app.log(TAG, report);
+        } else {
+            Gdx.app.error(TAG, "OVER BUDGET " + report);
+            logReasons(batch);
+        }
+        return withinBudget;
+    }
+
+    /**
+     * Break down the last recorded frame by flush reason
+     */
+    private static void logReasons(RecordingBatch batch) {
+        for (var reason : RecordingBatch.Reason.values()) {
+            var count = batch.count(reason);
+            if (count > 0) {
+                Gdx.app.error(TAG, "  %s: %d".formatted(reason.name().toLowerCase(), count));
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package lando.systems.game.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.FloatArray;
+import lando.systems.game.scene.components.StreamingTilemap;
+import lando.systems.game.scene.maps.BinaryMap;
+import lando.systems.game.scene.maps.MapChunkSource;
+
+/**
+ * Checks that {@link StreamingTilemap} and compiled {@link BinaryMap} cells apply Tiled's flip flags the same way
+ * the stock {@link OrthogonalTiledMapRenderer} does, for all 8 combinations of horizontal, vertical and diagonal flips.
+ * <p>
+ * Each combination is turned into a cell the same way {@link TmxMapLoader} does, drawn through the renderer
+ * into a batch that keeps the vertices, and compared corner by corner against {@link StreamingTilemap#addTile}
+ * and against the same renderer drawing the cell from {@link BinaryMap#cell}.
+ * Exits with a non-zero status on any mismatch.
+ */
+public class TileFlipCheck extends ApplicationAdapter {
+
+    private static final String TAG = TileFlipCheck.class.getSimpleName();
+
+    private static final int TILE_SIZE = 16;
+    private static final int VERTEX_SIZE = 5;
+    private static final int QUAD_SIZE = 4 * VERTEX_SIZE;
+    private static final float EPSILON = 1e-6f;
+    private static final String[] CORNERS = { "bottom left", "top left", "top right", "bottom right" };
+
+    /**
+     * Exposes how {@link TmxMapLoader} turns flip flags into a cell's flips and rotation
+     */
+    private static class CellLoader extends TmxMapLoader {
+        TiledMapTileLayer.Cell cell(int gid) {
+            return createTileLayerCell(
+                (gid & MapChunkSource.FLIP_HORIZONTAL) != 0,
+                (gid & MapChunkSource.FLIP_VERTICAL) != 0,
+                (gid & MapChunkSource.FLIP_DIAGONAL) != 0);
+        }
+    }
+
+    /**
+     * Keeps the vertices of the last quad drawn instead of drawing them
+     */
+    private static class CaptureBatch extends SpriteBatch {
+        final float[] quad = new float[QUAD_SIZE];
+
+        @Override
+        public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+            System.arraycopy(spriteVertices, offset, quad, 0, QUAD_SIZE);
+        }
+    }
+
+    @Override
+    public void create() {
+        HeadlessGL.install();
+
+        // a region away from the texture edges, so every corner has distinct texture coords
+        var pixmap = new Pixmap(4 * TILE_SIZE, 4 * TILE_SIZE, Pixmap.Format.RGBA8888);
+        var texture = new Texture(pixmap);
+        pixmap.dispose();
+        var region = new TextureRegion(texture, TILE_SIZE, 2 * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+        var tile = new StaticTiledMapTile(region);
+
+        var batch = new CaptureBatch();
+        var renderer = new OrthogonalTiledMapRenderer(new TiledMap(), 1f, batch);
+        renderer.setView(new Matrix4(), 0, 0, TILE_SIZE, TILE_SIZE);
+        var loader = new CellLoader();
+        var vertices = new FloatArray(QUAD_SIZE);
+
+        var failures = 0;
+        for (int flags = 0; flags < 8; flags++) {
+            var gid = 1
+                | (((flags & 1) != 0) ? MapChunkSource.FLIP_HORIZONTAL : 0)
+                | (((flags & 2) != 0) ? MapChunkSource.FLIP_VERTICAL : 0)
+                | (((flags & 4) != 0) ? MapChunkSource.FLIP_DIAGONAL : 0);
+
+            var layer = new TiledMapTileLayer(1, 1, TILE_SIZE, TILE_SIZE);
+            layer.setCell(0, 0, loader.cell(gid).setTile(tile));
+            renderer.renderTileLayer(layer);
+            var expected = batch.quad.clone();
+
+            vertices.clear();
+            StreamingTilemap.addTile(vertices, region, gid, 0, 0, Color.WHITE_FLOAT_BITS);
+
+            // compiled maps build their own cells, which should draw the same as the loader's
+            layer.setCell(0, 0, BinaryMap.cell(gid).setTile(tile));
+            renderer.renderTileLayer(layer);
+
+            var name = "h=%b v=%b d=%b".formatted((flags & 1) != 0, (flags & 2) != 0, (flags & 4) != 0);
+            var matches = compare(name, "StreamingTilemap", expected, vertices.items)
+                        & compare(name, "BinaryMap", expected, batch.quad);
+            if (matches) {
+                Gdx.app.log(TAG, "%s: ok".formatted(name));
+            } else {
+                failures++;
+            }
+        }
+
+        batch.dispose();
+        texture.dispose();
+        if (failures > 0) {
+            Gdx.app.error(TAG, "%d of 8 flip combinations don't match OrthogonalTiledMapRenderer".formatted(failures));
+            System.exit(1);
+        }
+        Gdx.app.log(TAG, "All 8 flip combinations match OrthogonalTiledMapRenderer");
+        Gdx.app.exit();
+    }
+
+    /**
+     * @return true if the texture coords of every corner match, logging the ones that don't
+     */
+    private static boolean compare(String name, String source, float[] expected, float[] actual) {
+        var matches = true;
+        for (int corner = 0; corner < 4; corner++) {
+            int u = corner * VERTEX_SIZE + 3;
+            int v = u + 1;
+            if (Math.abs(expected[u] - actual[u]) > EPSILON || Math.abs(expected[v] - actual[v]) > EPSILON) {
+                Gdx.app.error(TAG, "%s, %s %s: expected uv (%.4f, %.4f), got (%.4f, %.4f)".formatted(
+                    name, source, CORNERS[corner], expected[u], expected[v], actual[u], actual[v]));
+                matches = false;
+            }
+        }
+        return matches;
+    }
+}